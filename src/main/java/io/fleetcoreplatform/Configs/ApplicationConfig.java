@@ -1,7 +1,9 @@
 package io.fleetcoreplatform.Configs;
 
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
+import java.time.Duration;
 
 @ConfigMapping(prefix = "aws")
 public interface ApplicationConfig {
@@ -26,6 +28,28 @@ public interface ApplicationConfig {
     interface S3Config {
         @WithName("bucket-name")
         String bucketName();
+
+        /** Bundles larger than this many bytes are uploaded in parts */
+        @WithName("multipart-threshold")
+        @WithDefault("8388608")
+        long multipartThreshold();
+
+        /** Size in bytes of every part of a multipart upload, S3 requires at least 5 MiB */
+        @WithName("multipart-part-size")
+        @WithDefault("8388608")
+        long multipartPartSize();
+
+        /**
+         * Presigned URLs are reused within windows of this length, each is signed for the
+         * requested validity plus one window so it stays valid that long after it was handed out
+         */
+        @WithName("presign-cache-window")
+        @WithDefault("5m")
+        Duration presignCacheWindow();
+
+        @WithName("presign-cache-max-entries")
+        @WithDefault("10000")
+        int presignCacheMaxEntries();
     }
 
     interface IoTCoreConfig {
@@ -37,6 +61,16 @@ public interface ApplicationConfig {
 
         @WithName("role-alias")
         String roleAlias();
+
+        /** Policy shared by the certificates of every drone */
+        @WithName("fleet-policy-name")
+        @WithDefault("fleetcore-drone-policy")
+        String fleetPolicyName();
+
+        /** How long thing group attributes and memberships are cached */
+        @WithName("cache-ttl")
+        @WithDefault("10m")
+        Duration cacheTtl();
     }
 
     interface CognitoConfig {
@@ -0,0 +1,98 @@
+package io.fleetcoreplatform.Configs;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+import java.time.Duration;
+
+@ConfigMapping(prefix = "missions")
+public interface MissionConfig {
+    @WithName("status")
+    StatusConfig status();
+
+    @WithName("events")
+    EventsConfig events();
+
+    @WithName("creation")
+    CreationConfig creation();
+
+    @WithName("bundle-cache")
+    BundleCacheConfig bundleCache();
+
+    interface StatusConfig {
+        /** Poll interval of a job whose state just changed */
+        @WithName("min-poll-interval")
+        @WithDefault("5s")
+        Duration minPollInterval();
+
+        /** The interval doubles on every poll without change, up to this value */
+        @WithName("max-poll-interval")
+        @WithDefault("1m")
+        Duration maxPollInterval();
+
+        /** Caps the IoT requests of every scheduler tick, each poll costs two or more */
+        @WithName("max-polls-per-tick")
+        @WithDefault("10")
+        int maxPollsPerTick();
+
+        /** Jobs nobody asked about for this long are no longer polled and are dropped */
+        @WithName("retention")
+        @WithDefault("15m")
+        Duration retention();
+    }
+
+    /**
+     * IoT job execution events, routed by an IoT rule on {@code $aws/events/jobExecution/#} and
+     * {@code $aws/events/job/#} to an SQS queue
+     */
+    interface EventsConfig {
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        @WithName("queue-name")
+        @WithDefault("fleetcore-job-events")
+        String queueName();
+
+        @WithName("wait-time-seconds")
+        @WithDefault("20")
+        int waitTimeSeconds();
+    }
+
+    interface CreationConfig {
+        /** Missions planned, uploaded and dispatched at the same time */
+        @WithName("concurrency")
+        @WithDefault("4")
+        int concurrency();
+
+        /** Missions waiting for a worker, further requests are rejected */
+        @WithName("queue-capacity")
+        @WithDefault("50")
+        int queueCapacity();
+
+        /** Attempts of every stage before the mission creation fails */
+        @WithName("stage-attempts")
+        @WithDefault("3")
+        int stageAttempts();
+
+        @WithName("retry-delay")
+        @WithDefault("2s")
+        Duration retryDelay();
+
+        /** How long a finished creation can still be queried */
+        @WithName("retention")
+        @WithDefault("1h")
+        Duration retention();
+    }
+
+    interface BundleCacheConfig {
+        @WithName("enabled")
+        @WithDefault("true")
+        boolean enabled();
+
+        /** Bundles indexed at most, the least recently used are forgotten first */
+        @WithName("max-entries")
+        @WithDefault("1000")
+        int maxEntries();
+    }
+}
@@ -0,0 +1,69 @@
+package io.fleetcoreplatform.Configs;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+import java.time.Duration;
+
+@ConfigMapping(prefix = "provisioning")
+public interface ProvisioningConfig {
+    /**
+     * Registrations running at the same time across all bulk jobs. Each registration issues about
+     * ten IoT control plane calls, whose default quotas are 10 to 15 requests per second.
+     */
+    @WithName("concurrency")
+    @WithDefault("4")
+    int concurrency();
+
+    @WithName("max-batch-size")
+    @WithDefault("200")
+    int maxBatchSize();
+
+    /** Finished jobs, including their certificate bundle, are forgotten after this long */
+    @WithName("job-retention")
+    @WithDefault("1h")
+    Duration jobRetention();
+
+    @WithName("pool")
+    PoolConfig pool();
+
+    interface PoolConfig {
+        /** Pre-provisions certificates and signaling channels on every instance */
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        /** Inactive certificates, and unassigned signaling channels, kept ready for registration */
+        @WithName("size")
+        @WithDefault("5")
+        int size();
+
+        /** Retries top-ups that failed, for instance while the IoT API was throttling */
+        @WithName("refill-interval")
+        @WithDefault("30s")
+        Duration refillInterval();
+
+        /**
+         * Renewed on every refill, pooled resources of an instance that stopped renewing are
+         * deleted by the others once it runs out. Must be well above the refill interval.
+         */
+        @WithName("lease")
+        @WithDefault("5m")
+        Duration lease();
+    }
+
+    @WithName("policy-migration")
+    PolicyMigrationConfig policyMigration();
+
+    interface PolicyMigrationConfig {
+        /** Moves every registered drone from its own policy to the fleet policy on startup */
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        /** Drones migrated in parallel, batches run one after another */
+        @WithName("batch-size")
+        @WithDefault("10")
+        int batchSize();
+    }
+}
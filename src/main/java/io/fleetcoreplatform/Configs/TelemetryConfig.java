@@ -0,0 +1,173 @@
+package io.fleetcoreplatform.Configs;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+import java.time.Duration;
+
+@ConfigMapping(prefix = "telemetry")
+public interface TelemetryConfig {
+    /** Telemetry older than this is no longer considered live by the endpoints */
+    @WithName("stale-after")
+    @WithDefault("30s")
+    Duration staleAfter();
+
+    @WithName("consumer")
+    ConsumerConfig consumer();
+
+    @WithName("history")
+    HistoryConfig history();
+
+    @WithName("live")
+    LiveConfig live();
+
+    @WithName("trail")
+    TrailConfig trail();
+
+    @WithName("spatial")
+    SpatialConfig spatial();
+
+    @WithName("geofence")
+    GeofenceConfig geofence();
+
+    @WithName("connectivity")
+    ConnectivityConfig connectivity();
+
+    interface ConsumerConfig {
+        @WithName("enabled")
+        @WithDefault("true")
+        boolean enabled();
+
+        @WithName("wait-time-seconds")
+        @WithDefault("20")
+        int waitTimeSeconds();
+
+        /** Number of concurrent long-poll requests kept open against the queue */
+        @WithName("receivers")
+        @WithDefault("4")
+        int receivers();
+
+        /** Number of threads decoding and dispatching received messages */
+        @WithName("workers")
+        @WithDefault("2")
+        int workers();
+
+        /** Received but unprocessed messages, receivers stop polling once it is full */
+        @WithName("buffer-capacity")
+        @WithDefault("1000")
+        int bufferCapacity();
+
+        /** How long drone UUIDs are cached by name, for agents reporting their name */
+        @WithName("device-name-ttl")
+        @WithDefault("1m")
+        Duration deviceNameTtl();
+    }
+
+    interface HistoryConfig {
+        @WithName("enabled")
+        @WithDefault("true")
+        boolean enabled();
+
+        /** Rows written by a single COPY */
+        @WithName("batch-size")
+        @WithDefault("1000")
+        int batchSize();
+
+        /** Longest time a frame waits in memory before being written */
+        @WithName("flush-interval")
+        @WithDefault("1s")
+        Duration flushInterval();
+
+        /** Frames waiting to be written, new frames are dropped once it is full */
+        @WithName("buffer-capacity")
+        @WithDefault("50000")
+        int bufferCapacity();
+
+        /** Daily partitions created in advance */
+        @WithName("partitions-ahead")
+        @WithDefault("2")
+        int partitionsAhead();
+
+        /** Daily partitions entirely older than this are dropped */
+        @WithName("retention")
+        @WithDefault("30d")
+        Duration retention();
+
+        /** Widest from/to range accepted by the history query endpoint */
+        @WithName("max-query-range")
+        @WithDefault("7d")
+        Duration maxQueryRange();
+
+        /** Upper bound of buckets a history query may ask for */
+        @WithName("max-resolution")
+        @WithDefault("5000")
+        int maxResolution();
+    }
+
+    interface LiveConfig {
+        /** Shortest time between two pushes to the same subscriber, updates in between coalesce */
+        @WithName("min-interval")
+        @WithDefault("250ms")
+        Duration minInterval();
+
+        /** Keep-alive period, also used to drop disconnected subscribers and refresh membership */
+        @WithName("heartbeat-interval")
+        @WithDefault("30s")
+        Duration heartbeatInterval();
+
+        @WithName("max-subscribers")
+        @WithDefault("500")
+        int maxSubscribers();
+    }
+
+    interface TrailConfig {
+        /** Frames kept in memory per drone, 600 covers ten minutes at 1 Hz */
+        @WithName("capacity")
+        @WithDefault("600")
+        int capacity();
+    }
+
+    interface SpatialConfig {
+        /** Grid cell edge of the position index, must divide 360. 0.01 is about 1.1 km */
+        @WithName("cell-size-degrees")
+        @WithDefault("0.01")
+        double cellSizeDegrees();
+
+        /** Largest radius accepted by the nearby query */
+        @WithName("max-radius-metres")
+        @WithDefault("50000")
+        double maxRadiusMetres();
+
+        /** How long the drones owned by a coordinator are cached for in-memory filtering */
+        @WithName("ownership-ttl")
+        @WithDefault("30s")
+        Duration ownershipTtl();
+    }
+
+    interface GeofenceConfig {
+        @WithName("enabled")
+        @WithDefault("true")
+        boolean enabled();
+
+        /** Raster rows and columns laid over the bounding box of each outpost polygon */
+        @WithName("grid-size")
+        @WithDefault("64")
+        int gridSize();
+
+        /** How often the drone to outpost assignments are reloaded */
+        @WithName("refresh-interval")
+        @WithDefault("1m")
+        Duration refreshInterval();
+    }
+
+    interface ConnectivityConfig {
+        /** Periodically read MQTT connectivity from the fleet index, one query per group */
+        @WithName("reconcile-enabled")
+        @WithDefault("false")
+        boolean reconcileEnabled();
+
+        @WithName("reconcile-interval")
+        @WithDefault("5m")
+        Duration reconcileInterval();
+    }
+}
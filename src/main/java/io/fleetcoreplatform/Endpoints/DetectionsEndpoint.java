@@ -4,6 +4,8 @@ import io.fleetcoreplatform.Managers.Database.DbModels.DbDetection;
 import io.fleetcoreplatform.Managers.Database.DbModels.DbMission;
 import io.fleetcoreplatform.Managers.Database.Mappers.DetectionsMapper;
 import io.fleetcoreplatform.Managers.Database.Mappers.MissionMapper;
+import io.fleetcoreplatform.Managers.S3.StorageManager;
+import io.fleetcoreplatform.Models.DetectionImageModel;
 import io.fleetcoreplatform.Models.DetectionValidationRequestModel;
 import io.quarkus.security.identity.SecurityIdentity;
 import jakarta.annotation.security.RolesAllowed;
@@ -16,6 +18,8 @@ import jakarta.ws.rs.core.Response;
 import org.jboss.logging.Logger;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -32,7 +36,10 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 @RolesAllowed("${allowed.role-name}")
 @Tag(name = "Detections", description = "Operations related to drone detections")
 public class DetectionsEndpoint {
+    private static final int IMAGE_URL_VALID_MINUTES = 15;
+
     @Inject DetectionsMapper detectionsMapper;
+    @Inject StorageManager storageManager;
     @Inject MissionMapper missionMapper;
     @Inject SecurityIdentity identity;
     @Inject Logger logger;
@@ -71,6 +78,53 @@ public class DetectionsEndpoint {
         }
     }
 
+    @GET
+    @Path("/images")
+    @Operation(summary = "Get detection images", description = "Presign the image download URL of every detection of a mission, optionally limited to a group")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "application/json", schema = @Schema(type = SchemaType.ARRAY, implementation = DetectionImageModel.class))),
+        @APIResponse(responseCode = "400", description = "Bad request"),
+        @APIResponse(responseCode = "404", description = "Mission not found"),
+        @APIResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Response getDetectionImages(
+            @Parameter(description = "UUID of the mission", required = true)
+            @QueryParam("mission_uuid") UUID missionUuid,
+            @Parameter(description = "UUID of the group")
+            @QueryParam("group_uuid") UUID groupUuid) {
+        if (missionUuid == null) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+
+        try {
+            String cognitoSub = identity.getPrincipal().getName();
+
+            DbMission mission = missionMapper.findByIdAndCoordinator(missionUuid, cognitoSub);
+            if (mission == null) {
+                return Response.status(Response.Status.NOT_FOUND).build();
+            }
+
+            List<DbDetection> detections = groupUuid == null
+                    ? detectionsMapper.listByMissionAndCoordinator(missionUuid, cognitoSub)
+                    : detectionsMapper.listByMissionGroupAndCoordinator(missionUuid, groupUuid, cognitoSub);
+
+            Map<String, String> urls = storageManager.getPresignedObjectUrls(
+                    detections.stream().map(DbDetection::getImage_key).filter(Objects::nonNull).toList(),
+                    IMAGE_URL_VALID_MINUTES);
+
+            List<DetectionImageModel> images = detections.stream()
+                    .filter(detection -> detection.getImage_key() != null)
+                    .map(detection -> new DetectionImageModel(detection.getUuid(), detection.getImage_key(), urls.get(detection.getImage_key())))
+                    .toList();
+
+            return Response.ok(images).build();
+
+        } catch (Exception e) {
+            logger.error(e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @PATCH
     @Operation(summary = "Validate detection", description = "Mark a detection as valid or false positive")
     @APIResponses(value = {
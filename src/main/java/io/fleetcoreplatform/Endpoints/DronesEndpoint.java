@@ -2,14 +2,22 @@ package io.fleetcoreplatform.Endpoints;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fleetcoreplatform.Configs.ProvisioningConfig;
+import io.fleetcoreplatform.Configs.TelemetryConfig;
 import io.fleetcoreplatform.Exceptions.GroupHasNoOutpostException;
 import io.fleetcoreplatform.Exceptions.KinesisCannotCreateChannelException;
 import io.fleetcoreplatform.Managers.Database.DbModels.DbDrone;
 import io.fleetcoreplatform.Managers.Database.Mappers.DroneMapper;
+import io.fleetcoreplatform.Managers.Database.Mappers.GroupMapper;
 import io.fleetcoreplatform.Managers.IoTCore.IotDataPlaneManager;
-import io.fleetcoreplatform.Managers.IoTCore.IotManager;
 import io.fleetcoreplatform.Models.*;
+import io.fleetcoreplatform.Services.BulkProvisioningService;
 import io.fleetcoreplatform.Services.CoreService;
+import io.fleetcoreplatform.Services.DroneConnectivityTracker;
+import io.fleetcoreplatform.Services.DroneOwnershipCache;
+import io.fleetcoreplatform.Services.DronePositionIndex;
+import io.fleetcoreplatform.Services.TelemetryDownsampler;
+import io.fleetcoreplatform.Services.TelemetryTrailStore;
 import io.quarkus.security.identity.SecurityIdentity;
 import io.smallrye.faulttolerance.api.RateLimit;
 import jakarta.annotation.Nullable;
@@ -19,8 +27,15 @@ import jakarta.json.Json;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Logger;
 
@@ -43,7 +58,14 @@ import org.jboss.resteasy.reactive.NoCache;
 public class DronesEndpoint {
     @Inject CoreService coreService;
     @Inject DroneMapper droneMapper;
-    @Inject IotManager iotManager;
+    @Inject TelemetryConfig telemetryConfig;
+    @Inject TelemetryTrailStore telemetryTrailStore;
+    @Inject DronePositionIndex dronePositionIndex;
+    @Inject DroneOwnershipCache droneOwnershipCache;
+    @Inject DroneConnectivityTracker droneConnectivityTracker;
+    @Inject BulkProvisioningService bulkProvisioningService;
+    @Inject ProvisioningConfig provisioningConfig;
+    @Inject GroupMapper groupMapper;
     @Inject IotDataPlaneManager iotPublisher;
     @Inject SecurityIdentity identity;
     Logger logger = Logger.getLogger(DronesEndpoint.class.getName());
@@ -96,6 +118,50 @@ public class DronesEndpoint {
         }
     }
 
+    @GET
+    @Path("/nearby")
+    @Produces(MediaType.APPLICATION_JSON)
+    @RateLimit(value = 25, window = 1, windowUnit = ChronoUnit.SECONDS)
+    @Operation(summary = "Find nearby drones", description = "List the drones whose last known position is within a radius of a point, nearest first")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "application/json", schema = @Schema(implementation = NearbyDroneModel.class, type = SchemaType.ARRAY))),
+        @APIResponse(responseCode = "400", description = "Invalid point, radius or limit"),
+        @APIResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Response findNearbyDrones(
+            @Parameter(description = "Latitude of the point in degrees", required = true)
+            @QueryParam("lat") Double latitude,
+            @Parameter(description = "Longitude of the point in degrees", required = true)
+            @QueryParam("lon") Double longitude,
+            @Parameter(description = "Search radius in metres", required = true)
+            @QueryParam("radius") Double radius,
+            @Parameter(description = "Limit the number of results", required = false)
+            @DefaultValue("100") @QueryParam("limit") int limit) {
+        if (latitude == null
+                || longitude == null
+                || radius == null
+                || Math.abs(latitude) > 90
+                || Math.abs(longitude) > 180
+                || !(radius > 0)
+                || radius > telemetryConfig.spatial().maxRadiusMetres()
+                || limit <= 0
+                || limit > 1000) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+
+        String cognitoSub = identity.getPrincipal().getName();
+
+        try {
+            Set<UUID> owned = droneOwnershipCache.getOwnedDrones(cognitoSub);
+            List<NearbyDroneModel> nearby = dronePositionIndex.findNearby(latitude, longitude, radius, owned::contains, limit);
+
+            return Response.ok(nearby).build();
+        } catch (Exception e) {
+            logger.severe(e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GET
     @Path("/{drone_uuid}")
     @Produces(MediaType.APPLICATION_JSON)
@@ -117,9 +183,72 @@ public class DronesEndpoint {
                 return Response.status(Response.Status.NOT_FOUND).build();
             }
 
-            var uptime = iotManager.getDroneStatus(drone.getName());
+            var status = droneConnectivityTracker.getStatus(drone.getUuid());
+
+            var response = new DroneFullModel(drone.getUuid(), drone.getName(), drone.getGroup_uuid(), drone.getAddress(), drone.getManager_version(), drone.getFirst_discovered(), drone.getHome_position(), drone.getModel(), drone.getCapabilities(), status);
+            return Response.ok(response).build();
+        } catch (Exception e) {
+            logger.severe(e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GET
+    @Path("/{drone_uuid}/telemetry")
+    @Produces(MediaType.APPLICATION_JSON)
+    @RateLimit(value = 10, window = 5, windowUnit = ChronoUnit.SECONDS)
+    @Operation(summary = "Get drone telemetry history", description = "Get the recorded telemetry of a drone, downsampled to min/max/avg buckets")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TelemetryHistoryResponse.class))),
+        @APIResponse(responseCode = "400", description = "Invalid time range or resolution"),
+        @APIResponse(responseCode = "404", description = "Drone not found"),
+        @APIResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Response getDroneTelemetry(
+            @Parameter(description = "UUID of the drone", required = true)
+            @PathParam("drone_uuid") UUID droneUuid,
+            @Parameter(description = "Start of the range (ISO-8601 instant, inclusive)", required = true)
+            @QueryParam("from") String from,
+            @Parameter(description = "End of the range (ISO-8601 instant, exclusive), defaults to now", required = false)
+            @QueryParam("to") String to,
+            @Parameter(description = "Maximum number of buckets returned", required = false)
+            @DefaultValue("1000") @QueryParam("resolution") int resolution) {
+        if (from == null || resolution <= 0 || resolution > telemetryConfig.history().maxResolution()) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+
+        Instant fromInstant;
+        Instant toInstant;
+        try {
+            fromInstant = Instant.parse(from);
+            toInstant = to != null ? Instant.parse(to) : Instant.now();
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+
+        if (!fromInstant.isBefore(toInstant)
+                || Duration.between(fromInstant, toInstant).compareTo(telemetryConfig.history().maxQueryRange()) > 0) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+
+        String cognitoSub = identity.getPrincipal().getName();
+
+        DbDrone droneCheck = droneMapper.findByUuidAndCoordinator(droneUuid, cognitoSub);
+        if (droneCheck == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
 
-            var response = new DroneFullModel(drone.getUuid(), drone.getName(), drone.getGroup_uuid(), drone.getAddress(), drone.getManager_version(), drone.getFirst_discovered(), drone.getHome_position(), drone.getModel(), drone.getCapabilities(), uptime);
+        try {
+            TelemetryDownsampler downsampler = new TelemetryDownsampler(fromInstant, toInstant, resolution);
+            coreService.streamTelemetryHistory(droneUuid, Timestamp.from(fromInstant), Timestamp.from(toInstant), downsampler);
+
+            var response = new TelemetryHistoryResponse(
+                    droneUuid,
+                    Timestamp.from(fromInstant),
+                    Timestamp.from(toInstant),
+                    downsampler.getBucketWidthMillis(),
+                    downsampler.getRawSamples(),
+                    downsampler.getBuckets());
             return Response.ok(response).build();
         } catch (Exception e) {
             logger.severe(e.getMessage());
@@ -127,6 +256,46 @@ public class DronesEndpoint {
         }
     }
 
+    @GET
+    @Path("/{drone_uuid}/telemetry/recent")
+    @Produces(MediaType.APPLICATION_JSON)
+    @RateLimit(value = 25, window = 1, windowUnit = ChronoUnit.SECONDS)
+    @Operation(summary = "Get recent drone telemetry", description = "Get the telemetry received in the last seconds from memory, for trails and short-term checks")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TelemetryTrailModel.class))),
+        @APIResponse(responseCode = "400", description = "Invalid window"),
+        @APIResponse(responseCode = "404", description = "Drone not found or no recent telemetry"),
+        @APIResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Response getRecentDroneTelemetry(
+            @Parameter(description = "UUID of the drone", required = true)
+            @PathParam("drone_uuid") UUID droneUuid,
+            @Parameter(description = "Length of the window in seconds", required = false)
+            @DefaultValue("300") @QueryParam("seconds") int seconds) {
+        if (seconds <= 0 || seconds > 3600) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+
+        String cognitoSub = identity.getPrincipal().getName();
+
+        DbDrone droneCheck = droneMapper.findByUuidAndCoordinator(droneUuid, cognitoSub);
+        if (droneCheck == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        try {
+            TelemetryTrailModel trail = telemetryTrailStore.getTrail(droneUuid, Duration.ofSeconds(seconds));
+            if (trail == null) {
+                return Response.status(Response.Status.NOT_FOUND).build();
+            }
+
+            return Response.ok(trail).build();
+        } catch (Exception e) {
+            logger.severe(e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
@@ -142,17 +311,7 @@ public class DronesEndpoint {
     public Response registerDrone(
             @RequestBody(description = "Drone registration details", required = true)
             DroneRequestModel body) {
-        if (body == null
-                || body.droneName() == null
-                || body.address() == null
-                || body.agentVersion() == null
-                || body.homePosition() == null
-                || body.homePosition().x() == null
-                || body.homePosition().y() == null
-                || body.homePosition().z() == null
-                || body.model() == null
-                || body.capabilities() == null
-                || body.capabilities().isEmpty()) {
+        if (!isValidRegistration(body)) {
             return Response.status(Response.Status.BAD_REQUEST).build();
         }
 
@@ -183,6 +342,109 @@ public class DronesEndpoint {
         }
     }
 
+    @POST
+    @Path("/bulk")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @RateLimit(value = 3, window = 1, windowUnit = ChronoUnit.MINUTES)
+    @Operation(summary = "Register drones in bulk", description = "Queue the registration of a batch of drones, returns a job to follow the progress of each drone")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "202", description = "Registrations queued", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkProvisioningJobModel.class))),
+        @APIResponse(responseCode = "400", description = "Invalid request body, or batch too large"),
+        @APIResponse(responseCode = "404", description = "Group not found"),
+        @APIResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Response registerDrones(
+            @RequestBody(description = "Registration details of every drone", required = true)
+            BulkProvisioningRequestModel body) {
+        if (body == null
+                || body.drones() == null
+                || body.drones().isEmpty()
+                || body.drones().size() > provisioningConfig.maxBatchSize()
+                || !body.drones().stream().allMatch(this::isValidRegistration)) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+
+        String cognitoSub = identity.getPrincipal().getName();
+
+        try {
+            Set<UUID> groups = new HashSet<>();
+            for (DroneRequestModel drone : body.drones()) {
+                if (groups.add(drone.groupName())
+                        && groupMapper.findByUuidAndCoordinator(drone.groupName(), cognitoSub) == null) {
+                    return Response.status(Response.Status.NOT_FOUND.getStatusCode(), "Group not found " + drone.groupName())
+                            .build();
+                }
+            }
+
+            UUID jobUuid = bulkProvisioningService.submit(body.drones(), cognitoSub);
+
+            return Response.accepted(bulkProvisioningService.getJob(jobUuid, cognitoSub)).build();
+        } catch (Exception e) {
+            logger.severe(e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GET
+    @Path("/bulk/{job_uuid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @RateLimit(value = 10, window = 5, windowUnit = ChronoUnit.SECONDS)
+    @Operation(summary = "Get bulk job progress", description = "Get the status of every drone of a bulk registration or group decommission job")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkProvisioningJobModel.class))),
+        @APIResponse(responseCode = "404", description = "Job not found or expired"),
+        @APIResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Response getBulkRegistration(
+            @Parameter(description = "UUID of the bulk job", required = true)
+            @PathParam("job_uuid") UUID jobUuid) {
+        String cognitoSub = identity.getPrincipal().getName();
+
+        try {
+            BulkProvisioningJobModel job = bulkProvisioningService.getJob(jobUuid, cognitoSub);
+            if (job == null) {
+                return Response.status(Response.Status.NOT_FOUND).build();
+            }
+
+            return Response.ok(job).build();
+        } catch (Exception e) {
+            logger.severe(e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GET
+    @Path("/bulk/{job_uuid}/certificates")
+    @Produces("application/zip")
+    @RateLimit(value = 3, window = 1, windowUnit = ChronoUnit.MINUTES)
+    @Operation(summary = "Download bulk registration certificates", description = "Download a zip archive with the certificate and private key of every drone registered by a finished job")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "application/zip")),
+        @APIResponse(responseCode = "404", description = "Job not found or expired"),
+        @APIResponse(responseCode = "409", description = "Job still running"),
+        @APIResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Response downloadBulkCertificates(
+            @Parameter(description = "UUID of the bulk registration job", required = true)
+            @PathParam("job_uuid") UUID jobUuid) {
+        String cognitoSub = identity.getPrincipal().getName();
+
+        BulkProvisioningJobModel job = bulkProvisioningService.getJob(jobUuid, cognitoSub);
+        if (job == null || !BulkProvisioningService.REGISTRATION.equals(job.type())) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        if (job.finished_at() == null) {
+            return Response.status(Response.Status.CONFLICT).build();
+        }
+
+        StreamingOutput bundle = output -> bulkProvisioningService.writeCertificateBundle(jobUuid, cognitoSub, output);
+
+        return Response.ok(bundle)
+                .header("Content-Disposition", "attachment; filename=\"certificates-" + jobUuid + ".zip\"")
+                .build();
+    }
+
     @PATCH
     @Path("/{drone_uuid}")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -360,4 +622,18 @@ public class DronesEndpoint {
             return Response.serverError().build();
         }
     }
+
+    private boolean isValidRegistration(DroneRequestModel body) {
+        return body != null
+                && body.droneName() != null
+                && body.address() != null
+                && body.agentVersion() != null
+                && body.homePosition() != null
+                && body.homePosition().x() != null
+                && body.homePosition().y() != null
+                && body.homePosition().z() != null
+                && body.model() != null
+                && body.capabilities() != null
+                && !body.capabilities().isEmpty();
+    }
 }
@@ -1,17 +1,25 @@
 package io.fleetcoreplatform.Endpoints;
 
-import io.fleetcoreplatform.Configs.ApplicationConfig;
+import io.fleetcoreplatform.Configs.ProvisioningConfig;
+import io.fleetcoreplatform.Configs.TelemetryConfig;
 import io.fleetcoreplatform.Exceptions.GroupNotEmptyException;
+import io.fleetcoreplatform.Managers.Database.DbModels.DbDrone;
 import io.fleetcoreplatform.Managers.Database.DbModels.DbGroup;
 import io.fleetcoreplatform.Managers.Database.DbModels.DbOutpost;
+import io.fleetcoreplatform.Managers.Database.Mappers.DroneMapper;
 import io.fleetcoreplatform.Managers.Database.Mappers.GroupMapper;
 import io.fleetcoreplatform.Managers.Database.Mappers.OutpostMapper;
-import io.fleetcoreplatform.Managers.SQS.SqsManager;
+import io.fleetcoreplatform.Models.BulkProvisioningJobModel;
 import io.fleetcoreplatform.Models.DroneSummaryModel;
 import io.fleetcoreplatform.Models.DroneTelemetryModel;
 import io.fleetcoreplatform.Models.GroupRequestModel;
+import io.fleetcoreplatform.Models.TelemetryUpdateModel;
 import io.fleetcoreplatform.Models.UpdateGroupModel;
+import io.fleetcoreplatform.Services.BulkProvisioningService;
 import io.fleetcoreplatform.Services.CoreService;
+import io.fleetcoreplatform.Services.DroneConnectivityTracker;
+import io.fleetcoreplatform.Services.TelemetryBroadcaster;
+import io.fleetcoreplatform.Services.TelemetryStateStore;
 import io.quarkus.security.identity.SecurityIdentity;
 import io.smallrye.faulttolerance.api.RateLimit;
 import jakarta.annotation.security.RolesAllowed;
@@ -20,12 +28,11 @@ import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
@@ -45,11 +52,16 @@ import org.jboss.resteasy.reactive.NoCache;
 @Tag(name = "Groups", description = "Operations related to drone groups")
 public class GroupsEndpoint {
     @Inject GroupMapper groupMapper;
+    @Inject DroneMapper droneMapper;
     @Inject OutpostMapper outpostMapper;
     @Inject CoreService coreService;
     @Inject SecurityIdentity identity;
-    @Inject
-    SqsManager sqsManager;
+    @Inject TelemetryStateStore telemetryStateStore;
+    @Inject TelemetryConfig telemetryConfig;
+    @Inject TelemetryBroadcaster telemetryBroadcaster;
+    @Inject DroneConnectivityTracker droneConnectivityTracker;
+    @Inject BulkProvisioningService bulkProvisioningService;
+    @Inject ProvisioningConfig provisioningConfig;
 
     @Inject Logger logger;
 
@@ -67,8 +79,7 @@ public class GroupsEndpoint {
         @Parameter(description = "UUID of the group")
         @PathParam("group_uuid") UUID groupUuid,
         @Parameter(description = "Limit the number of results")
-        @DefaultValue("10") @QueryParam("limit") Integer limit,
-        @Context ApplicationConfig config
+        @DefaultValue("10") @QueryParam("limit") Integer limit
     ) {
         try {
             String cognitoSub = identity.getPrincipal().getName();
@@ -78,18 +89,9 @@ public class GroupsEndpoint {
                 return Response.status(Response.Status.NOT_FOUND).build();
             }
 
-            List<DroneTelemetryModel> telemetryModels = sqsManager.ingestQueue(config.sqs().queueName());
-
-            Map<String, DroneTelemetryModel> telemetryByDevice = telemetryModels.stream()
-                .collect(Collectors.toMap(
-                    DroneTelemetryModel::device_name,
-                    Function.identity(),
-                    (existing, replacement) -> replacement
-                ));
-
             List<DroneSummaryModel> dronesWithTelemetry = drones.stream()
                 .map(drone -> {
-                    DroneTelemetryModel telem = telemetryByDevice.get(drone.getName());
+                    DroneTelemetryModel telem = telemetryStateStore.getFresh(drone.getUuid(), telemetryConfig.staleAfter());
                     if (telem != null) {
                         return new DroneSummaryModel(
                             drone.getUuid(),
@@ -100,7 +102,7 @@ public class GroupsEndpoint {
                             drone.getFirst_discovered(),
                             drone.getHome_position(),
                             drone.getMaintenance(),
-                            telem.battery().remaining_percent(),
+                            telem.battery() != null ? telem.battery().remaining_percent() : null,
                             true,
                             drone.getSignaling_channel_name()
                         );
@@ -121,6 +123,8 @@ public class GroupsEndpoint {
                 })
                 .toList();
 
+            dronesWithTelemetry.forEach(drone -> drone.setStatus(droneConnectivityTracker.getStatus(drone.getUuid())));
+
             return Response.ok(dronesWithTelemetry).build();
 
         } catch (Exception e) {
@@ -129,6 +133,36 @@ public class GroupsEndpoint {
         }
     }
 
+    @GET
+    @Path("/{group_uuid}/telemetry/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RateLimit(value = 10, window = 5, windowUnit = ChronoUnit.SECONDS)
+    @Operation(summary = "Stream live group telemetry", description = "Server-Sent Events stream of telemetry updates for every drone in the group. Each 'telemetry' event holds the latest state of the drones that changed since the previous event, each 'geofence' event a drone leaving or re-entering its outpost area")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Event stream", content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = TelemetryUpdateModel.class, type = SchemaType.ARRAY))),
+        @APIResponse(responseCode = "404", description = "Group not found"),
+        @APIResponse(responseCode = "503", description = "Too many live telemetry subscribers")
+    })
+    public void streamGroupTelemetry(
+            @Parameter(description = "UUID of the group", required = true)
+            @PathParam("group_uuid") UUID groupUuid,
+            @Context SseEventSink sink,
+            @Context Sse sse) {
+        String cognitoSub = identity.getPrincipal().getName();
+
+        if (groupMapper.findByUuidAndCoordinator(groupUuid, cognitoSub) == null) {
+            throw new NotFoundException();
+        }
+
+        boolean subscribed =
+                telemetryBroadcaster.subscribe(
+                        "group/" + groupUuid + "/" + cognitoSub,
+                        () -> droneMapper.listDroneUuidsByGroupAndCoordinator(groupUuid, cognitoSub), sink, sse);
+        if (!subscribed) {
+            throw new ServiceUnavailableException();
+        }
+    }
+
     @GET
     @Path("/{group_uuid}")
     @Produces(MediaType.APPLICATION_JSON)
@@ -228,6 +262,42 @@ public class GroupsEndpoint {
         }
     }
 
+    @POST
+    @Path("/{group_uuid}/decommission")
+    @Produces(MediaType.APPLICATION_JSON)
+    @RateLimit(value = 3, window = 1, windowUnit = ChronoUnit.MINUTES)
+    @Operation(summary = "Decommission group drones", description = "Queue the removal of every drone of the group, progress is reported by /api/v1/drones/bulk/{job_uuid}")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "202", description = "Removals queued", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkProvisioningJobModel.class))),
+        @APIResponse(responseCode = "400", description = "Group has more drones than a single batch allows"),
+        @APIResponse(responseCode = "404", description = "Group not found"),
+        @APIResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Response decommissionGroup(
+            @Parameter(description = "UUID of the group", required = true)
+            @PathParam("group_uuid") UUID groupUuid) {
+        String cognitoSub = identity.getPrincipal().getName();
+
+        try {
+            if (groupMapper.findByUuidAndCoordinator(groupUuid, cognitoSub) == null) {
+                return Response.status(Response.Status.NOT_FOUND).build();
+            }
+
+            int maxBatchSize = provisioningConfig.maxBatchSize();
+            List<DbDrone> drones = droneMapper.listDronesByGroupAndCoordinator(groupUuid, cognitoSub, maxBatchSize + 1);
+            if (drones.size() > maxBatchSize) {
+                return Response.status(Response.Status.BAD_REQUEST).build();
+            }
+
+            UUID jobUuid = bulkProvisioningService.submitDecommission(drones, cognitoSub);
+
+            return Response.accepted(bulkProvisioningService.getJob(jobUuid, cognitoSub)).build();
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @PATCH
     @Path("/{group_uuid}")
     @Consumes(MediaType.APPLICATION_JSON)
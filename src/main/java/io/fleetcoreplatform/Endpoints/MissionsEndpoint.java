@@ -5,6 +5,7 @@ import io.fleetcoreplatform.Managers.Database.Mappers.CoordinatorMapper;
 import io.fleetcoreplatform.Managers.Database.Mappers.MissionMapper;
 import io.fleetcoreplatform.Models.*;
 import io.fleetcoreplatform.Services.CoreService;
+import io.fleetcoreplatform.Services.MissionCreationService;
 import io.fleetcoreplatform.Utils.IoTJobSchedulerValidator;
 import io.quarkus.security.identity.SecurityIdentity;
 import io.smallrye.faulttolerance.api.RateLimit;
@@ -17,6 +18,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
@@ -28,13 +30,13 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.logging.Logger;
-import software.amazon.awssdk.services.iot.model.IotException;
 
 @Path("/api/v1/missions")
 @RolesAllowed("${allowed.role-name}")
 @Tag(name = "Missions", description = "Operations related to mission management")
 public class MissionsEndpoint {
     @Inject CoreService coreService;
+    @Inject MissionCreationService missionCreationService;
     @Inject MissionMapper missionMapper;
     @Inject SecurityIdentity identity;
 
@@ -48,10 +50,11 @@ public class MissionsEndpoint {
     @RateLimit(value = 2, window = 10, windowUnit = ChronoUnit.MINUTES)
     @Operation(summary = "Create group mission", description = "Create a full survey or subset survey for a group")
     @APIResponses(value = {
-        @APIResponse(responseCode = "200", description = "Mission created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MissionCreatedResponseModel.class))),
+        @APIResponse(responseCode = "202", description = "Mission accepted, its creation can be followed on /{mission_uuid}/creation", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MissionCreatedResponseModel.class))),
         @APIResponse(responseCode = "400", description = "Invalid request body"),
         @APIResponse(responseCode = "401", description = "Unauthorized"),
         @APIResponse(responseCode = "404", description = "Resource not found"),
+        @APIResponse(responseCode = "503", description = "Too many missions being created"),
         @APIResponse(responseCode = "500", description = "Internal server error")
     })
     public Response createGroupMission(
@@ -69,7 +72,7 @@ public class MissionsEndpoint {
         }
 
         try {
-            UUID missionUUID = coreService.createGroupMission(
+            MissionDraft draft = coreService.prepareGroupMission(
                     body.outpostUuid(),
                     body.groupUuid(),
                     body.droneUuids(),
@@ -77,13 +80,14 @@ public class MissionsEndpoint {
                     body.altitude(),
                     body.jobName(),
                     body.scheduled());
+            missionCreationService.submit(draft, cognitoSub);
 
-            return Response.ok(new MissionCreatedResponseModel(missionUUID)).build();
+            return Response.accepted(new MissionCreatedResponseModel(draft.missionUuid())).build();
 
         } catch (NotFoundException nfe) {
             return Response.status(Response.Status.NOT_FOUND).entity(nfe.getMessage()).build();
-        } catch (IotException ioe) {
-            return Response.status(500, "Server internal error while bundling mission instructions").build();
+        } catch (RejectedExecutionException ree) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             logger.errorf("Unexpected error while creating mission: %s", e);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
@@ -97,10 +101,11 @@ public class MissionsEndpoint {
     @RateLimit(value = 2, window = 10, windowUnit = ChronoUnit.MINUTES)
     @Operation(summary = "Create solo mission", description = "Create a solo manual mission for a drone")
     @APIResponses(value = {
-        @APIResponse(responseCode = "200", description = "Mission created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MissionCreatedResponseModel.class))),
+        @APIResponse(responseCode = "202", description = "Mission accepted, its creation can be followed on /{mission_uuid}/creation", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MissionCreatedResponseModel.class))),
         @APIResponse(responseCode = "400", description = "Invalid request body"),
         @APIResponse(responseCode = "401", description = "Unauthorized"),
         @APIResponse(responseCode = "404", description = "Resource not found"),
+        @APIResponse(responseCode = "503", description = "Too many missions being created"),
         @APIResponse(responseCode = "500", description = "Internal server error")
     })
     public Response createSoloMission(
@@ -120,7 +125,7 @@ public class MissionsEndpoint {
         try {
             int speed = body.speed() != null ? body.speed() : 10;
             boolean rtl = body.returnToLaunch() != null ? body.returnToLaunch() : true;
-            UUID missionUUID = coreService.createSoloMission(
+            MissionDraft draft = coreService.prepareSoloMission(
                     body.waypoints(),
                     body.droneUuid(),
                     coordinator.getUuid(),
@@ -129,19 +134,90 @@ public class MissionsEndpoint {
                     speed,
                     rtl,
                     body.scheduled());
+            missionCreationService.submit(draft, cognitoSub);
 
-            return Response.ok(new MissionCreatedResponseModel(missionUUID)).build();
+            return Response.accepted(new MissionCreatedResponseModel(draft.missionUuid())).build();
 
         } catch (NotFoundException nfe) {
             return Response.status(Response.Status.NOT_FOUND).entity(nfe.getMessage()).build();
-        } catch (IotException ioe) {
-            return Response.status(500, "Server internal error while bundling mission instructions").build();
+        } catch (RejectedExecutionException ree) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             logger.errorf("Unexpected error while creating mission: %s", e);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @POST
+    @Path("/outpost")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @RateLimit(value = 2, window = 10, windowUnit = ChronoUnit.MINUTES)
+    @Operation(summary = "Create outpost mission", description = "Create a full survey mission for every group of an outpost at once")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "202", description = "Missions accepted, their creation can be followed on /outpost/{outpost_mission_uuid}", content = @Content(mediaType = "application/json", schema = @Schema(implementation = OutpostMissionCreatedResponseModel.class))),
+        @APIResponse(responseCode = "400", description = "Invalid request body"),
+        @APIResponse(responseCode = "401", description = "Unauthorized"),
+        @APIResponse(responseCode = "404", description = "Resource not found"),
+        @APIResponse(responseCode = "503", description = "Too many missions being created"),
+        @APIResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Response createOutpostMission(
+            @RequestBody(description = "Outpost mission creation details", required = true)
+            CreateOutpostMissionRequestModel body) {
+
+        if (body == null || body.jobName() == null || body.jobName().length() > 64 || body.outpostUuid() == null || body.scheduled() != null && !IoTJobSchedulerValidator.isValidStartTime(body.scheduled())) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("Invalid basic parameters").build();
+        }
+
+        String cognitoSub = identity.getPrincipal().getName();
+        DbCoordinator coordinator = coordinatorMapper.findByCognitoSub(cognitoSub);
+        if (coordinator == null) {
+            return Response.status(Response.Status.UNAUTHORIZED).build();
+        }
+
+        try {
+            List<MissionDraft> drafts = coreService.prepareOutpostMission(
+                    body.outpostUuid(),
+                    coordinator.getUuid(),
+                    cognitoSub,
+                    body.altitude(),
+                    body.jobName(),
+                    body.scheduled());
+            UUID outpostMissionUUID = missionCreationService.submitAll(body.outpostUuid(), drafts, cognitoSub);
+
+            return Response.accepted(new OutpostMissionCreatedResponseModel(
+                    outpostMissionUUID, drafts.stream().map(MissionDraft::missionUuid).toList())).build();
+
+        } catch (NotFoundException nfe) {
+            return Response.status(Response.Status.NOT_FOUND).entity(nfe.getMessage()).build();
+        } catch (RejectedExecutionException ree) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            logger.errorf("Unexpected error while creating outpost mission: %s", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GET
+    @Path("/outpost/{outpost_mission_uuid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get outpost mission", description = "Get the creation progress of every group mission of an outpost mission")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "application/json", schema = @Schema(implementation = OutpostMissionModel.class))),
+        @APIResponse(responseCode = "404", description = "Outpost mission not found or expired")
+    })
+    public Response getOutpostMission(
+            @Parameter(description = "UUID of the outpost mission", required = true)
+            @PathParam("outpost_mission_uuid") UUID outpostMissionUUID) {
+        OutpostMissionModel outpostMission = missionCreationService.getOutpostMission(outpostMissionUUID, identity.getPrincipal().getName());
+        if (outpostMission == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        return Response.ok(outpostMission).build();
+    }
+
     @PATCH
     @Path("/{mission_uuid}")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -284,6 +360,50 @@ public class MissionsEndpoint {
         }
     }
 
+    @GET
+    @Path("/{mission_uuid}/creation")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get mission creation", description = "Get the progress of every stage of a mission being created")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MissionCreationModel.class))),
+        @APIResponse(responseCode = "404", description = "Mission creation not found or expired")
+    })
+    public Response getMissionCreation(
+            @Parameter(description = "UUID of the mission", required = true)
+            @PathParam("mission_uuid") UUID missionUUID) {
+        MissionCreationModel creation = missionCreationService.getCreation(missionUUID, identity.getPrincipal().getName());
+        if (creation == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        return Response.ok(creation).build();
+    }
+
+    @GET
+    @Path("/{mission_uuid}/executions")
+    @Produces(MediaType.APPLICATION_JSON)
+    @RateLimit(value = 10, window = 5, windowUnit = ChronoUnit.SECONDS)
+    @Operation(summary = "Get mission executions", description = "Get the execution status of every drone of a mission")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MissionExecutionsModel.class))),
+        @APIResponse(responseCode = "404", description = "Mission not found"),
+        @APIResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Response getMissionExecutions(
+            @Parameter(description = "UUID of the mission", required = true)
+            @PathParam("mission_uuid") UUID missionUUID) {
+        String cognitoSub = identity.getPrincipal().getName();
+
+        try {
+            return Response.ok(coreService.getMissionExecutions(missionUUID, cognitoSub)).build();
+        } catch (NotFoundException nfe) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        } catch (Exception e) {
+            logger.error(e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GET
     @Path("/{mission_uuid}/{drone_uuid}")
     @Produces(MediaType.APPLICATION_JSON)
@@ -4,20 +4,27 @@ import io.fleetcoreplatform.Exceptions.OutpostNotEmptyException;
 import io.fleetcoreplatform.Managers.Database.DbModels.DbGroup;
 import io.fleetcoreplatform.Managers.Database.DbModels.DbOutpost;
 import io.fleetcoreplatform.Managers.Database.Mappers.CoordinatorMapper;
+import io.fleetcoreplatform.Managers.Database.Mappers.DroneMapper;
 import io.fleetcoreplatform.Managers.Database.Mappers.GroupMapper;
 import io.fleetcoreplatform.Managers.Database.Mappers.OutpostMapper;
 import io.fleetcoreplatform.Models.CreateOutpostModel;
 import io.fleetcoreplatform.Models.OutpostUpdateRequest;
 import io.fleetcoreplatform.Models.OutpostGroupSummary;
 import io.fleetcoreplatform.Models.OutpostSummary;
+import io.fleetcoreplatform.Models.TelemetryUpdateModel;
 import io.fleetcoreplatform.Services.CoreService;
+import io.fleetcoreplatform.Services.GeofenceMonitor;
+import io.fleetcoreplatform.Services.TelemetryBroadcaster;
 import io.quarkus.security.identity.SecurityIdentity;
 import io.smallrye.faulttolerance.api.RateLimit;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 
 import java.net.URI;
 import java.sql.Timestamp;
@@ -45,9 +52,12 @@ public class OutpostsEndpoint {
     @Inject OutpostMapper outpostMapper;
     @Inject CoordinatorMapper coordinatorMapper;
     @Inject GroupMapper groupMapper;
+    @Inject DroneMapper droneMapper;
     @Inject SecurityIdentity identity;
     @Inject Logger logger;
     @Inject CoreService coreService;
+    @Inject TelemetryBroadcaster telemetryBroadcaster;
+    @Inject GeofenceMonitor geofenceMonitor;
 
     @GET
     @Path("/{outpost_uuid}/groups")
@@ -216,6 +226,7 @@ public class OutpostsEndpoint {
 
             if (body.area() != null) {
                 outpostMapper.updateArea(outpostUuid, body.area());
+                geofenceMonitor.invalidate(outpostUuid);
             }
             if (body.name() != null) {
                 outpostMapper.updateName(outpostUuid, body.name());
@@ -229,6 +240,36 @@ public class OutpostsEndpoint {
         }
     }
 
+    @GET
+    @Path("/{outpost-uuid}/telemetry/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RateLimit(value = 10, window = 5, windowUnit = ChronoUnit.SECONDS)
+    @Operation(summary = "Stream live outpost telemetry", description = "Server-Sent Events stream of telemetry updates for every drone in the outpost. Each 'telemetry' event holds the latest state of the drones that changed since the previous event, each 'geofence' event a drone leaving or re-entering its outpost area")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "Event stream", content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = TelemetryUpdateModel.class, type = SchemaType.ARRAY))),
+        @APIResponse(responseCode = "404", description = "Outpost not found"),
+        @APIResponse(responseCode = "503", description = "Too many live telemetry subscribers")
+    })
+    public void streamOutpostTelemetry(
+            @Parameter(description = "UUID of the outpost", required = true)
+            @PathParam("outpost-uuid") UUID outpostUuid,
+            @Context SseEventSink sink,
+            @Context Sse sse) {
+        String cognitoSub = identity.getPrincipal().getName();
+
+        if (outpostMapper.findByUuidAndCoordinator(outpostUuid, cognitoSub) == null) {
+            throw new NotFoundException();
+        }
+
+        boolean subscribed =
+                telemetryBroadcaster.subscribe(
+                        "outpost/" + outpostUuid + "/" + cognitoSub,
+                        () -> droneMapper.listDroneUuidsByOutpostAndCoordinator(outpostUuid, cognitoSub), sink, sse);
+        if (!subscribed) {
+            throw new ServiceUnavailableException();
+        }
+    }
+
     @GET
     @Path("/{outpost-uuid}/summary")
     @Produces(MediaType.APPLICATION_JSON)
@@ -20,7 +20,7 @@ public class SqsHealthCheck implements HealthCheck {
     @Override
     public HealthCheckResponse call() {
         try {
-            sqsClient.getClient().listQueues(ListQueuesRequest.builder().queueNamePrefix(config.sqs().queueName()).maxResults(1).build());
+            sqsClient.getClient().listQueues(ListQueuesRequest.builder().queueNamePrefix(config.sqs().queueName()).maxResults(1).build()).join();
 
             return HealthCheckResponse.up("AWS SQS connection");
         } catch (Exception e) {
@@ -0,0 +1,65 @@
+package io.fleetcoreplatform.Managers.Database;
+
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.jboss.logging.Logger;
+
+/**
+ * Applies db.sql on startup, ahead of every other startup bean, so the tables of the server
+ * features exist before anything reads or writes them. Every statement of the script is
+ * idempotent, instances starting together are serialized by a transaction scoped advisory lock.
+ *
+ * <p>A failure is logged and does not stop the server, the features relying on a missing table
+ * report their own errors.
+ */
+@Startup(ObserverMethod.PLATFORM_BEFORE)
+@ApplicationScoped
+public class DatabaseSchema {
+    private static final String SCRIPT = "db.sql";
+    private static final String LOCK_NAME = "fleetcore_schema";
+
+    @Inject DataSource dataSource;
+    @Inject Logger logger;
+
+    @PostConstruct
+    void apply() {
+        String script;
+        try (InputStream input = Thread.currentThread().getContextClassLoader().getResourceAsStream(SCRIPT)) {
+            if (input == null) {
+                logger.errorf("Cannot find %s, the schema is not applied", SCRIPT);
+                return;
+            }
+            script = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.errorf("Cannot read %s: %s", SCRIPT, e.getMessage());
+            return;
+        }
+
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            try {
+                statement.execute("SELECT pg_advisory_xact_lock(hashtext('" + LOCK_NAME + "'))");
+                statement.execute(script);
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.errorf("Cannot apply %s: %s", SCRIPT, e.getMessage());
+        }
+    }
+}
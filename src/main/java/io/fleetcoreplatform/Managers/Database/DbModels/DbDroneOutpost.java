@@ -0,0 +1,24 @@
+package io.fleetcoreplatform.Managers.Database.DbModels;
+
+import java.util.UUID;
+
+public class DbDroneOutpost {
+    private UUID drone_uuid;
+    private UUID outpost_uuid;
+
+    public UUID getDrone_uuid() {
+        return drone_uuid;
+    }
+
+    public void setDrone_uuid(UUID drone_uuid) {
+        this.drone_uuid = drone_uuid;
+    }
+
+    public UUID getOutpost_uuid() {
+        return outpost_uuid;
+    }
+
+    public void setOutpost_uuid(UUID outpost_uuid) {
+        this.outpost_uuid = outpost_uuid;
+    }
+}
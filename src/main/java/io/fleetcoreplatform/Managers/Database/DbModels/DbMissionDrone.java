@@ -0,0 +1,24 @@
+package io.fleetcoreplatform.Managers.Database.DbModels;
+
+import java.util.UUID;
+
+public class DbMissionDrone {
+    private UUID drone_uuid;
+    private String drone_name;
+
+    public UUID getDrone_uuid() {
+        return drone_uuid;
+    }
+
+    public void setDrone_uuid(UUID drone_uuid) {
+        this.drone_uuid = drone_uuid;
+    }
+
+    public String getDrone_name() {
+        return drone_name;
+    }
+
+    public void setDrone_name(String drone_name) {
+        this.drone_name = drone_name;
+    }
+}
@@ -0,0 +1,52 @@
+package io.fleetcoreplatform.Managers.Database.DbModels;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+public class DbMissionExecution {
+    private UUID mission_uuid;
+    private UUID drone_uuid;
+    private String status;
+    private Long version_number;
+    private Timestamp updated_at;
+
+    public UUID getMission_uuid() {
+        return mission_uuid;
+    }
+
+    public void setMission_uuid(UUID mission_uuid) {
+        this.mission_uuid = mission_uuid;
+    }
+
+    public UUID getDrone_uuid() {
+        return drone_uuid;
+    }
+
+    public void setDrone_uuid(UUID drone_uuid) {
+        this.drone_uuid = drone_uuid;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getVersion_number() {
+        return version_number;
+    }
+
+    public void setVersion_number(Long version_number) {
+        this.version_number = version_number;
+    }
+
+    public Timestamp getUpdated_at() {
+        return updated_at;
+    }
+
+    public void setUpdated_at(Timestamp updated_at) {
+        this.updated_at = updated_at;
+    }
+}
@@ -0,0 +1,22 @@
+package io.fleetcoreplatform.Managers.Database.DbModels;
+
+public class DbPooledResource {
+    private String resource;
+    private String resource_id;
+
+    public String getResource() {
+        return resource;
+    }
+
+    public void setResource(String resource) {
+        this.resource = resource;
+    }
+
+    public String getResource_id() {
+        return resource_id;
+    }
+
+    public void setResource_id(String resource_id) {
+        this.resource_id = resource_id;
+    }
+}
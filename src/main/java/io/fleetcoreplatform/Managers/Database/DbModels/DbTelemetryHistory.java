@@ -0,0 +1,69 @@
+package io.fleetcoreplatform.Managers.Database.DbModels;
+
+import java.sql.Timestamp;
+
+public class DbTelemetryHistory {
+    private Timestamp recorded_at;
+    private Double latitude;
+    private Double longitude;
+    private Double relative_altitude;
+    private Double ground_speed;
+    private Double battery_voltage;
+    private Double battery_remaining;
+
+    public Timestamp getRecorded_at() {
+        return recorded_at;
+    }
+
+    public void setRecorded_at(Timestamp recorded_at) {
+        this.recorded_at = recorded_at;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getRelative_altitude() {
+        return relative_altitude;
+    }
+
+    public void setRelative_altitude(Double relative_altitude) {
+        this.relative_altitude = relative_altitude;
+    }
+
+    public Double getGround_speed() {
+        return ground_speed;
+    }
+
+    public void setGround_speed(Double ground_speed) {
+        this.ground_speed = ground_speed;
+    }
+
+    public Double getBattery_voltage() {
+        return battery_voltage;
+    }
+
+    public void setBattery_voltage(Double battery_voltage) {
+        this.battery_voltage = battery_voltage;
+    }
+
+    public Double getBattery_remaining() {
+        return battery_remaining;
+    }
+
+    public void setBattery_remaining(Double battery_remaining) {
+        this.battery_remaining = battery_remaining;
+    }
+}
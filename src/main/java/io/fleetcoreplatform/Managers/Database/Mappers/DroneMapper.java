@@ -1,9 +1,11 @@
 package io.fleetcoreplatform.Managers.Database.Mappers;
 
 import io.fleetcoreplatform.Managers.Database.DbModels.DbDrone;
+import io.fleetcoreplatform.Managers.Database.DbModels.DbDroneOutpost;
 import io.fleetcoreplatform.Managers.Database.Providers.DbDroneUpdateProvider;
 import io.fleetcoreplatform.Managers.Database.TypeHandlers.GeometryTypeHandler;
 import io.fleetcoreplatform.Managers.Database.TypeHandlers.StringArrayTypeHandler;
+import io.fleetcoreplatform.Managers.Database.TypeHandlers.UuidTypeHandler;
 import io.fleetcoreplatform.Models.DroneHomePositionModel;
 import java.sql.Timestamp;
 import java.util.List;
@@ -109,6 +111,55 @@ public interface DroneMapper {
             @Param("cognitoSub") String cognitoSub,
             @Param("limit") int limit);
 
+    @Select("""
+        SELECT d.uuid AS drone_uuid, g.outpost_uuid
+        FROM drones d
+        INNER JOIN groups g ON d.group_uuid = g.uuid
+        WHERE g.outpost_uuid IS NOT NULL
+    """)
+    List<DbDroneOutpost> listDroneOutposts();
+
+    @Select("SELECT uuid FROM drones ORDER BY uuid")
+    @Results({@Result(column = "uuid", javaType = UUID.class, typeHandler = UuidTypeHandler.class)})
+    List<UUID> listAllDroneUuids();
+
+    @Select("""
+        SELECT d.uuid
+        FROM drones d
+        INNER JOIN groups g ON d.group_uuid = g.uuid
+        INNER JOIN outposts o ON g.outpost_uuid = o.uuid
+        INNER JOIN coordinators c ON o.created_by = c.uuid
+        WHERE c.cognito_sub = #{cognitoSub}
+    """)
+    @Results({@Result(column = "uuid", javaType = UUID.class, typeHandler = UuidTypeHandler.class)})
+    List<UUID> listDroneUuidsByCoordinator(@Param("cognitoSub") String cognitoSub);
+
+    @Select("""
+        SELECT d.uuid
+        FROM drones d
+        INNER JOIN groups g ON d.group_uuid = g.uuid
+        INNER JOIN outposts o ON g.outpost_uuid = o.uuid
+        INNER JOIN coordinators c ON o.created_by = c.uuid
+        WHERE d.group_uuid = #{groupUuid, jdbcType=OTHER}
+          AND c.cognito_sub = #{cognitoSub}
+    """)
+    @Results({@Result(column = "uuid", javaType = UUID.class, typeHandler = UuidTypeHandler.class)})
+    List<UUID> listDroneUuidsByGroupAndCoordinator(
+            @Param("groupUuid") UUID groupUuid, @Param("cognitoSub") String cognitoSub);
+
+    @Select("""
+        SELECT d.uuid
+        FROM drones d
+        INNER JOIN groups g ON d.group_uuid = g.uuid
+        INNER JOIN outposts o ON g.outpost_uuid = o.uuid
+        INNER JOIN coordinators c ON o.created_by = c.uuid
+        WHERE g.outpost_uuid = #{outpostUuid, jdbcType=OTHER}
+          AND c.cognito_sub = #{cognitoSub}
+    """)
+    @Results({@Result(column = "uuid", javaType = UUID.class, typeHandler = UuidTypeHandler.class)})
+    List<UUID> listDroneUuidsByOutpostAndCoordinator(
+            @Param("outpostUuid") UUID outpostUuid, @Param("cognitoSub") String cognitoSub);
+
     @Select(
             "SELECT uuid, name, group_uuid, address, manager_version, first_discovered, "
                     + "home_position, model, capabilities, signaling_channel_name FROM drones WHERE name = #{name}")
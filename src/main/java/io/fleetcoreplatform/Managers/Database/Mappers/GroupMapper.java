@@ -35,6 +35,9 @@ public interface GroupMapper {
             @Param("cognitoSub") String cognitoSub
     );
 
+    @Select("SELECT * FROM groups")
+    List<DbGroup> listAll();
+
     @Select("SELECT * FROM groups WHERE outpost_uuid = #{outpost_uuid, jdbcType=OTHER}")
     List<DbGroup> listGroupsByOutpostUuid(@Param("outpost_uuid") UUID uuid);
 
@@ -0,0 +1,41 @@
+package io.fleetcoreplatform.Managers.Database.Mappers;
+
+import org.apache.ibatis.annotations.*;
+
+/**
+ * Index of uploaded mission bundles by the hash of their planning inputs, maintained by {@link
+ * io.fleetcoreplatform.Services.MissionBundleCache}.
+ */
+@Mapper
+public interface MissionBundleMapper {
+    /** @return The key of the bundle planned from the same inputs, marked as used, or null */
+    @Select("""
+        UPDATE mission_bundles SET last_used_at = now()
+        WHERE input_hash = #{inputHash}
+        RETURNING bundle_key
+    """)
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    String touch(@Param("inputHash") String inputHash);
+
+    @Insert("""
+        INSERT INTO mission_bundles (input_hash, bundle_key)
+        VALUES (#{inputHash}, #{bundleKey})
+        ON CONFLICT (input_hash) DO UPDATE
+        SET bundle_key = EXCLUDED.bundle_key, last_used_at = now()
+    """)
+    void upsert(@Param("inputHash") String inputHash, @Param("bundleKey") String bundleKey);
+
+    @Delete("DELETE FROM mission_bundles WHERE input_hash = #{inputHash}")
+    void delete(@Param("inputHash") String inputHash);
+
+    /** Keeps the maxEntries most recently used bundles */
+    @Delete("""
+        DELETE FROM mission_bundles
+        WHERE input_hash IN (
+            SELECT input_hash FROM mission_bundles
+            ORDER BY last_used_at DESC
+            OFFSET #{maxEntries}
+        )
+    """)
+    int evictLeastRecentlyUsed(@Param("maxEntries") int maxEntries);
+}
@@ -0,0 +1,51 @@
+package io.fleetcoreplatform.Managers.Database.Mappers;
+
+import io.fleetcoreplatform.Managers.Database.DbModels.DbMissionExecution;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import org.apache.ibatis.annotations.*;
+
+/**
+ * Latest known execution status of every drone of a mission, kept up to date from the IoT job
+ * execution events by {@link io.fleetcoreplatform.Services.MissionEventIngestService}.
+ */
+@Mapper
+public interface MissionExecutionMapper {
+    /**
+     * Records the status of an execution. Events can arrive out of order or more than once. An
+     * event is ignored when its execution version is not above the stored one, or, without a
+     * version, when it is older. Event timestamps are whole seconds, so a terminal status is never
+     * replaced by a running one either.
+     */
+    @Insert("""
+        INSERT INTO mission_executions (mission_uuid, drone_uuid, status, version_number, updated_at)
+        VALUES (#{missionUuid, jdbcType=OTHER}, #{droneUuid, jdbcType=OTHER}, #{status}, #{versionNumber}, #{updatedAt})
+        ON CONFLICT (mission_uuid, drone_uuid) DO UPDATE
+        SET status = EXCLUDED.status, version_number = EXCLUDED.version_number, updated_at = EXCLUDED.updated_at
+        WHERE NOT (
+            mission_executions.status IN ('SUCCEEDED', 'FAILED', 'TIMED_OUT', 'REJECTED', 'REMOVED', 'CANCELED')
+            AND EXCLUDED.status NOT IN ('SUCCEEDED', 'FAILED', 'TIMED_OUT', 'REJECTED', 'REMOVED', 'CANCELED')
+        )
+        AND CASE
+            WHEN mission_executions.version_number IS NOT NULL AND EXCLUDED.version_number IS NOT NULL
+            THEN mission_executions.version_number < EXCLUDED.version_number
+            ELSE mission_executions.updated_at <= EXCLUDED.updated_at
+        END
+    """)
+    void upsert(
+            @Param("missionUuid") UUID missionUuid,
+            @Param("droneUuid") UUID droneUuid,
+            @Param("status") String status,
+            @Param("versionNumber") Long versionNumber,
+            @Param("updatedAt") Timestamp updatedAt);
+
+    @Select("""
+        SELECT * FROM mission_executions
+        WHERE mission_uuid = #{missionUuid, jdbcType=OTHER} AND drone_uuid = #{droneUuid, jdbcType=OTHER}
+    """)
+    DbMissionExecution find(@Param("missionUuid") UUID missionUuid, @Param("droneUuid") UUID droneUuid);
+
+    @Select("SELECT * FROM mission_executions WHERE mission_uuid = #{missionUuid, jdbcType=OTHER}")
+    List<DbMissionExecution> listByMission(@Param("missionUuid") UUID missionUuid);
+}
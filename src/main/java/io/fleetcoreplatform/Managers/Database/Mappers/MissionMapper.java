@@ -1,6 +1,7 @@
 package io.fleetcoreplatform.Managers.Database.Mappers;
 
 import io.fleetcoreplatform.Managers.Database.DbModels.DbMission;
+import io.fleetcoreplatform.Managers.Database.DbModels.DbMissionDrone;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
@@ -34,6 +35,14 @@ public interface MissionMapper {
     @Select("SELECT * FROM missions WHERE uuid = #{uuid, jdbcType=OTHER}")
     DbMission findById(@Param("uuid") UUID uuid);
 
+    @Select("""
+        SELECT md.drone_uuid, d.name AS drone_name
+        FROM mission_drones md
+        LEFT JOIN drones d ON md.drone_uuid = d.uuid
+        WHERE md.mission_uuid = #{missionUuid, jdbcType=OTHER}
+    """)
+    List<DbMissionDrone> listMissionDrones(@Param("missionUuid") UUID missionUuid);
+
     @Update(
             "UPDATE missions SET group_uuid = #{group_uuid, jdbcType=OTHER}, name = #{name},"
                     + " bundle_url = #{bundle_url}, start_time = #{start_time}, created_by ="
@@ -0,0 +1,43 @@
+package io.fleetcoreplatform.Managers.Database.Mappers;
+
+import io.fleetcoreplatform.Managers.Database.DbModels.DbPooledResource;
+import java.util.List;
+import java.util.UUID;
+import org.apache.ibatis.annotations.*;
+
+/**
+ * Ledger of the resources held by the provisioning pools of every instance, maintained by {@link
+ * io.fleetcoreplatform.Services.ProvisioningPool}. An instance keeps renewing the lease of its
+ * entries, an entry whose lease ran out belongs to an instance that is gone.
+ */
+@Mapper
+public interface ProvisioningPoolMapper {
+    @Insert("""
+        INSERT INTO provisioning_pool (resource, resource_id, owner, leased_until)
+        VALUES (#{resource}, #{resourceId}, #{owner, jdbcType=OTHER}, now() + make_interval(secs => #{leaseSeconds}))
+    """)
+    void insert(
+            @Param("resource") String resource,
+            @Param("resourceId") String resourceId,
+            @Param("owner") UUID owner,
+            @Param("leaseSeconds") long leaseSeconds);
+
+    @Update("""
+        UPDATE provisioning_pool SET leased_until = now() + make_interval(secs => #{leaseSeconds})
+        WHERE owner = #{owner, jdbcType=OTHER}
+    """)
+    int renew(@Param("owner") UUID owner, @Param("leaseSeconds") long leaseSeconds);
+
+    /** @return 0 if the entry is no longer in the ledger, and may already be deleted by a sweep */
+    @Delete("DELETE FROM provisioning_pool WHERE resource = #{resource} AND resource_id = #{resourceId}")
+    int remove(@Param("resource") String resource, @Param("resourceId") String resourceId);
+
+    /** Takes every entry whose lease ran out, each entry is returned to a single caller */
+    @Select("""
+        DELETE FROM provisioning_pool
+        WHERE leased_until < now()
+        RETURNING resource, resource_id
+    """)
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    List<DbPooledResource> takeExpired();
+}
@@ -0,0 +1,64 @@
+package io.fleetcoreplatform.Managers.Database.Mappers;
+
+import io.fleetcoreplatform.Managers.Database.DbModels.DbTelemetryHistory;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+/**
+ * Time partitioned telemetry history. Rows are written in bulk with COPY by {@link
+ * io.fleetcoreplatform.Managers.Database.TelemetryHistoryWriter}, this mapper only holds the
+ * partition maintenance and read queries. The parent table is provisioned with db.sql.
+ */
+@Mapper
+public interface TelemetryHistoryMapper {
+    /**
+     * Creates the daily partition covering [from, to), the name and bounds are generated by the
+     * writer and never come from user input
+     */
+    @Update("""
+        CREATE TABLE IF NOT EXISTS ${partition} PARTITION OF telemetry_history
+        FOR VALUES FROM ('${from}') TO ('${to}')
+    """)
+    void createPartition(
+            @Param("partition") String partition,
+            @Param("from") String from,
+            @Param("to") String to);
+
+    @Select("""
+        SELECT child.relname
+        FROM pg_inherits
+        JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE parent.relname = 'telemetry_history'
+    """)
+    List<String> listPartitions();
+
+    /** The name comes from {@link #listPartitions()} and is checked by the writer */
+    @Update("DROP TABLE IF EXISTS ${partition}")
+    void dropPartition(@Param("partition") String partition);
+
+    /**
+     * Streams the history of a drone within [from, to) row by row into the handler. Rows are
+     * fetched from the database in chunks of fetchSize, so the range is never held in memory. Must
+     * run inside a transaction, PgJDBC ignores the fetch size under autocommit.
+     */
+    @Select("""
+        SELECT recorded_at, latitude, longitude, relative_altitude, ground_speed,
+               battery_voltage, battery_remaining
+        FROM telemetry_history
+        WHERE drone_uuid = #{droneUuid, jdbcType=OTHER}
+          AND recorded_at >= #{from}
+          AND recorded_at < #{to}
+        ORDER BY recorded_at
+    """)
+    @Options(fetchSize = 1000, resultSetType = ResultSetType.FORWARD_ONLY)
+    void streamRange(
+            @Param("droneUuid") UUID droneUuid,
+            @Param("from") Timestamp from,
+            @Param("to") Timestamp to,
+            ResultHandler<DbTelemetryHistory> handler);
+}
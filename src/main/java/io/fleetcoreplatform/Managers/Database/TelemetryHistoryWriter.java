@@ -0,0 +1,262 @@
+package io.fleetcoreplatform.Managers.Database;
+
+import io.fleetcoreplatform.Configs.TelemetryConfig;
+import io.fleetcoreplatform.Managers.Database.Mappers.TelemetryHistoryMapper;
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import io.fleetcoreplatform.Services.TelemetryListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.Startup;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+
+/**
+ * Persists every ingested telemetry frame into the time partitioned {@code telemetry_history}
+ * table. Frames are buffered and written with a single COPY per batch, once either the batch size
+ * or the flush interval is reached.
+ *
+ * <p>The parent table comes from db.sql, applied by {@link DatabaseSchema}, the daily partitions are created ahead of time and dropped
+ * once past the retention.
+ */
+@Startup
+@ApplicationScoped
+public class TelemetryHistoryWriter implements TelemetryListener {
+    private static final String COPY_SQL =
+            "COPY telemetry_history (drone_uuid, recorded_at, device_timestamp, latitude,"
+                    + " longitude, relative_altitude, heading, ground_speed, battery_temperature,"
+                    + " battery_voltage, battery_remaining, health_present, health_flags)"
+                    + " FROM STDIN";
+    private static final String PARTITION_PREFIX = "telemetry_history_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private record Row(UUID droneUuid, long receivedAt, TelemetryFrame frame) {}
+
+    @Inject DataSource dataSource;
+    @Inject TelemetryHistoryMapper telemetryHistoryMapper;
+    @Inject TelemetryConfig telemetryConfig;
+    @Inject MeterRegistry registry;
+    @Inject Logger logger;
+
+    private volatile boolean running;
+    private BlockingQueue<Row> buffer;
+    private Thread flusher;
+
+    private Counter writtenCounter;
+    private Counter droppedCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    void start() {
+        if (!telemetryConfig.history().enabled()) {
+            return;
+        }
+
+        buffer = new ArrayBlockingQueue<>(telemetryConfig.history().bufferCapacity());
+
+        writtenCounter = registry.counter("telemetry.history.rows.written");
+        droppedCounter = registry.counter("telemetry.history.rows.dropped");
+        flushTimer = registry.timer("telemetry.history.flush");
+        registry.gauge("telemetry.history.buffer.size", buffer, BlockingQueue::size);
+
+        // A failure is retried by the hourly maintenance, rows are dropped until then
+        try {
+            ensurePartitions();
+            dropExpiredPartitions();
+        } catch (Exception e) {
+            logger.errorf("Cannot prepare telemetry history partitions: %s", e.getMessage());
+        }
+
+        running = true;
+        flusher = Thread.ofPlatform().name("telemetry-history-writer").daemon().start(this::flushLoop);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (flusher != null) {
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void onTelemetry(UUID droneUuid, TelemetryFrame frame) {
+        if (!running) {
+            return;
+        }
+
+        // Never block the ingestion workers, a saturated database loses history instead
+        if (!buffer.offer(new Row(droneUuid, System.currentTimeMillis(), frame.copy()))) {
+            droppedCounter.increment();
+        }
+    }
+
+    /** Keeps the partitions for today and the configured number of days ahead in place */
+    @Scheduled(every = "1h", delayed = "1h")
+    void ensurePartitions() {
+        if (!telemetryConfig.history().enabled()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (int day = 0; day <= telemetryConfig.history().partitionsAhead(); day++) {
+            createPartition(today.plusDays(day));
+        }
+    }
+
+    /** Drops the daily partitions whose whole day is older than the retention */
+    @Scheduled(every = "1h", delayed = "1h")
+    void dropExpiredPartitions() {
+        if (!telemetryConfig.history().enabled()) {
+            return;
+        }
+
+        LocalDate oldestKept =
+                LocalDate.ofInstant(Instant.now().minus(telemetryConfig.history().retention()), ZoneOffset.UTC);
+
+        for (String partition : telemetryHistoryMapper.listPartitions()) {
+            if (!partition.matches(PARTITION_PREFIX + "\\d{8}")) {
+                continue;
+            }
+
+            LocalDate day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (day.isBefore(oldestKept)) {
+                telemetryHistoryMapper.dropPartition(partition);
+                logger.infof("Dropped expired telemetry history partition %s", partition);
+            }
+        }
+    }
+
+    private void createPartition(LocalDate day) {
+        telemetryHistoryMapper.createPartition(
+                PARTITION_PREFIX + day.format(PARTITION_SUFFIX),
+                day.atStartOfDay(ZoneOffset.UTC).toInstant().toString(),
+                day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().toString());
+    }
+
+    private void flushLoop() {
+        int batchSize = telemetryConfig.history().batchSize();
+        long intervalMillis = telemetryConfig.history().flushInterval().toMillis();
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        while (running || !buffer.isEmpty()) {
+            long deadline = System.currentTimeMillis() + intervalMillis;
+
+            try {
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        break;
+                    }
+
+                    Row row = buffer.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (row == null) {
+                        break;
+                    }
+
+                    batch.add(row);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Row> batch) {
+        String payload = toCopyText(batch);
+
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            copy(payload);
+            writtenCounter.increment(batch.size());
+        } catch (SQLException e) {
+            // The partition for a new day may not exist yet if the hourly job has not run
+            try {
+                createPartition(LocalDate.now(ZoneOffset.UTC));
+                copy(payload);
+                writtenCounter.increment(batch.size());
+            } catch (Exception retryException) {
+                logger.errorf("Dropping %d telemetry history rows: %s", batch.size(), e.getMessage());
+                droppedCounter.increment(batch.size());
+            }
+        } catch (Exception e) {
+            logger.errorf("Dropping %d telemetry history rows: %s", batch.size(), e.getMessage());
+            droppedCounter.increment(batch.size());
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void copy(String payload) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection
+                    .unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_SQL, new StringReader(payload));
+        }
+    }
+
+    /** Renders the batch in the tab separated text format of COPY, with \N for missing values */
+    private static String toCopyText(List<Row> batch) {
+        StringBuilder text = new StringBuilder(batch.size() * 160);
+
+        for (Row row : batch) {
+            TelemetryFrame frame = row.frame();
+
+            text.append(row.droneUuid()).append('\t');
+            text.append(Instant.ofEpochMilli(row.receivedAt())).append('\t');
+            appendValue(text, frame.getTimestamp()).append('\t');
+            appendValue(text, frame.getLatitude()).append('\t');
+            appendValue(text, frame.getLongitude()).append('\t');
+            appendValue(text, frame.getRelativeAltitude()).append('\t');
+            appendValue(text, frame.getHeading()).append('\t');
+            appendValue(text, frame.getGroundSpeed()).append('\t');
+            appendValue(text, frame.getBatteryTemperature()).append('\t');
+            appendValue(text, frame.getBatteryVoltage()).append('\t');
+            appendValue(text, frame.getBatteryRemaining()).append('\t');
+            text.append(frame.getHealthPresent()).append('\t');
+            text.append(frame.getHealthValues()).append('\n');
+        }
+
+        return text.toString();
+    }
+
+    private static StringBuilder appendValue(StringBuilder text, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return text.append("\\N");
+        }
+
+        return text.append(value);
+    }
+}
@@ -13,6 +13,7 @@ import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
@@ -23,10 +24,24 @@ import software.amazon.awssdk.services.sts.StsClient;
 
 @ApplicationScoped
 public class IotManager {
+    private static final int MAX_CACHED_ENTRIES = 10_000;
+    private static final int MAX_POLICY_VERSIONS = 5;
+
     @Inject ApplicationConfig config;
 
     private IotAsyncClient iotAsyncClient;
     private String accountIdentifier;
+    private String arnPrefix;
+
+    private record Cached<T>(T value, long expiresAt) {}
+
+    private final ConcurrentHashMap<String, Cached<Map<String, String>>> groupAttributesCache = new ConcurrentHashMap<>();
+    /**
+     * Invalidated before a membership change and again once it completed, a lookup racing the
+     * change could otherwise cache the old group
+     */
+    private final ConcurrentHashMap<String, Cached<String>> thingGroupCache = new ConcurrentHashMap<>();
+    private volatile CompletableFuture<String> fleetPolicy;
 
     @PostConstruct
     void init() {
@@ -47,6 +62,13 @@ public class IotManager {
         try (StsClient stsClient = StsClient.create()) {
             accountIdentifier = stsClient.getCallerIdentity().account();
         }
+
+        Region region = Region.of(config.region());
+        String partition = region.metadata() != null ? region.metadata().partition().id() : "aws";
+        arnPrefix = "arn:" + partition + ":iot:" + config.region() + ":" + accountIdentifier + ":";
+
+        // Resolved in the background so the first registration does not wait for it
+        getFleetPolicyAsync();
     }
 
     public IotAsyncClient getClient() {
@@ -68,24 +90,6 @@ public class IotManager {
         }
     }
 
-    public String createPolicy(String thingName) throws CompletionException {
-        String policyName = thingName + "-policy";
-        String policyDocument =
-                IotDocumentBuilder.buildPolicyDocument(accountIdentifier, config.region(), config.iot().roleAlias());
-
-        CreatePolicyRequest createPolicyRequest =
-                CreatePolicyRequest.builder()
-                        .policyName(policyName)
-                        .policyDocument(policyDocument)
-                        .build();
-
-        CompletableFuture<CreatePolicyResponse> future =
-                iotAsyncClient.createPolicy(createPolicyRequest);
-
-        CreatePolicyResponse createPolicyResponse = future.join();
-        return createPolicyResponse.policyName();
-    }
-
     public void attachPolicyToCertificate(String certificateARN, String policyARN) {
         AttachPolicyRequest attachPolicyRequest =
                 AttachPolicyRequest.builder().policyName(policyARN).target(certificateARN).build();
@@ -125,6 +129,30 @@ public class IotManager {
         }
     }
 
+    public CompletableFuture<Job> describeJobAsync(String jobId) {
+        return iotAsyncClient
+                .describeJob(DescribeJobRequest.builder().jobId(jobId).build())
+                .thenApply(DescribeJobResponse::job);
+    }
+
+    /** Cancels the job itself, with force so executions already in progress are canceled as well */
+    public CompletableFuture<Void> cancelJobAsync(String jobId, String comment) {
+        return iotAsyncClient
+                .cancelJob(CancelJobRequest.builder().jobId(jobId).force(true).comment(comment).build())
+                .thenApply(response -> null);
+    }
+
+    /** Collects every execution of the job, following the pagination of ListJobExecutionsForJob */
+    public CompletableFuture<List<JobExecutionSummaryForJob>> listJobExecutionsForJobAsync(String jobId) {
+        List<JobExecutionSummaryForJob> executions = Collections.synchronizedList(new ArrayList<>());
+
+        return iotAsyncClient
+                .listJobExecutionsForJobPaginator(ListJobExecutionsForJobRequest.builder().jobId(jobId).maxResults(250).build())
+                .executionSummaries()
+                .subscribe(executions::add)
+                .thenApply(ignored -> List.copyOf(executions));
+    }
+
     public void addDeviceToGroup(String thingName, String groupARN) {
         AddThingToThingGroupRequest addThingToThingGroupRequest =
                 AddThingToThingGroupRequest.builder()
@@ -132,10 +160,12 @@ public class IotManager {
                         .thingGroupArn(groupARN)
                         .build();
 
+        thingGroupCache.remove(thingName);
         CompletableFuture<AddThingToThingGroupResponse> future =
                 iotAsyncClient.addThingToThingGroup(addThingToThingGroupRequest);
         future.whenComplete(
                 (response, throwable) -> {
+                    thingGroupCache.remove(thingName);
                     if (throwable == null && response.sdkHttpResponse().isSuccessful()) {
                         System.out.printf(
                                 "Successfully added %S device to group %s%n", thingName, groupARN);
@@ -145,26 +175,14 @@ public class IotManager {
                 });
     }
 
+    /** Thing group ARNs follow a fixed format, so they are derived instead of described */
     public String getGroupARN(String groupName) {
-        DescribeThingGroupRequest describeThingGroupRequest =
-                DescribeThingGroupRequest.builder().thingGroupName(groupName).build();
-
-        CompletableFuture<DescribeThingGroupResponse> future =
-                iotAsyncClient.describeThingGroup(describeThingGroupRequest);
-        DescribeThingGroupResponse response = future.join();
-
-        return response.thingGroupArn();
+        return arnPrefix + "thinggroup/" + groupName;
     }
 
+    /** Thing ARNs follow a fixed format, so they are derived instead of described */
     public String getThingARN(String thingName) {
-        DescribeThingRequest describeThingRequest =
-                DescribeThingRequest.builder().thingName(thingName).build();
-
-        CompletableFuture<DescribeThingResponse> future =
-                iotAsyncClient.describeThing(describeThingRequest);
-        DescribeThingResponse response = future.join();
-
-        return response.thingArn();
+        return arnPrefix + "thing/" + thingName;
     }
 
     public IoTCertContainer generateCertificate() {
@@ -244,12 +262,20 @@ public class IotManager {
     }
 
     public String getThingGroup(String thingName) {
+        Cached<String> cached = thingGroupCache.get(thingName);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.value();
+        }
+
         ListThingGroupsForThingRequest listThingGroupsForThingRequest =
                 ListThingGroupsForThingRequest.builder().thingName(thingName).maxResults(1).build();
 
         ListThingGroupsForThingResponse future =
                 iotAsyncClient.listThingGroupsForThing(listThingGroupsForThingRequest).join();
-        return future.thingGroups().getFirst().groupArn();
+        String groupARN = future.thingGroups().getFirst().groupArn();
+
+        cache(thingGroupCache, thingName, groupARN);
+        return groupARN;
     }
 
     public void removeThing(String thingName) {
@@ -260,6 +286,7 @@ public class IotManager {
                 iotAsyncClient.deleteThing(deleteThingRequest);
 
         DeleteThingResponse response = future.join();
+        thingGroupCache.remove(thingName);
     }
 
     public void removeThingFromGroup(String thingName, String groupARN) {
@@ -270,6 +297,7 @@ public class IotManager {
                         .build();
 
         iotAsyncClient.removeThingFromThingGroup(removeThingFromThingGroupRequest).join();
+        thingGroupCache.remove(thingName);
     }
 
     public void removePolicies(String principalARN) {
@@ -289,6 +317,11 @@ public class IotManager {
                                             .build();
                             iotAsyncClient.detachPolicy(detachRequest).join();
 
+                            // The fleet policy is shared with every other drone
+                            if (policy.policyName().equals(config.iot().fleetPolicyName())) {
+                                return;
+                            }
+
                             DeletePolicyRequest deleteRequest =
                                     DeletePolicyRequest.builder()
                                             .policyName(policy.policyName())
@@ -352,6 +385,270 @@ public class IotManager {
                 });
     }
 
+    public CompletableFuture<IoTCertContainer> generateCertificateAsync() {
+        return iotAsyncClient
+                .createKeysAndCertificate()
+                .thenApply(
+                        response ->
+                                new IoTCertContainer(
+                                        response.keyPair().privateKey(),
+                                        response.certificatePem(),
+                                        response.certificateArn()));
+    }
+
+    public CompletableFuture<Void> updateCertificateAsync(String certificateARN, CertificateStatus status) {
+        String certificateId = certificateARN.substring(certificateARN.lastIndexOf('/') + 1);
+
+        UpdateCertificateRequest request = UpdateCertificateRequest.builder()
+                .certificateId(certificateId)
+                .newStatus(status)
+                .build();
+
+        return iotAsyncClient.updateCertificate(request).thenApply(response -> null);
+    }
+
+    public CompletableFuture<Void> createThingAsync(String thingName, String outpost, String group) {
+        CreateThingRequest createThingRequest =
+                CreateThingRequest.builder()
+                        .thingName(thingName)
+                        .thingTypeName(config.iot().thingType())
+                        .attributePayload(
+                                AttributePayload.builder()
+                                        .attributes(Map.of("outpost", outpost, "group", group))
+                                        .build())
+                        .build();
+
+        return iotAsyncClient.createThing(createThingRequest).thenApply(response -> null);
+    }
+
+    /**
+     * Makes sure the shared fleet policy exists with the current policy document. The document only
+     * uses {@code ${iot:Connection.Thing.ThingName}}, so one policy serves every drone. A changed
+     * document is published as a new default version instead of a new policy.
+     *
+     * @return The name of the fleet policy, resolved once and reused until it fails
+     */
+    public CompletableFuture<String> getFleetPolicyAsync() {
+        CompletableFuture<String> current = fleetPolicy;
+        if (current != null && !current.isCompletedExceptionally()) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (fleetPolicy == current) {
+                fleetPolicy = ensureFleetPolicyAsync();
+            }
+            return fleetPolicy;
+        }
+    }
+
+    private CompletableFuture<String> ensureFleetPolicyAsync() {
+        String policyName = config.iot().fleetPolicyName();
+        String policyDocument =
+                IotDocumentBuilder.buildPolicyDocument(accountIdentifier, config.region(), config.iot().roleAlias());
+
+        return iotAsyncClient
+                .getPolicy(GetPolicyRequest.builder().policyName(policyName).build())
+                .thenApply(Optional::of)
+                .exceptionallyCompose(
+                        ex ->
+                                unwrap(ex) instanceof ResourceNotFoundException
+                                        ? CompletableFuture.completedFuture(Optional.empty())
+                                        : CompletableFuture.failedFuture(ex))
+                .thenCompose(
+                        existing -> {
+                            if (existing.isEmpty()) {
+                                return iotAsyncClient
+                                        .createPolicy(
+                                                CreatePolicyRequest.builder()
+                                                        .policyName(policyName)
+                                                        .policyDocument(policyDocument)
+                                                        .build())
+                                        .thenApply(response -> policyName);
+                            }
+
+                            if (sameDocument(existing.get().policyDocument(), policyDocument)) {
+                                return CompletableFuture.completedFuture(policyName);
+                            }
+
+                            return publishPolicyVersionAsync(policyName, policyDocument)
+                                    .thenApply(ignored -> policyName);
+                        });
+    }
+
+    /** Sets the document as the new default version, making room first if the 5 versions quota is used */
+    private CompletableFuture<Void> publishPolicyVersionAsync(String policyName, String policyDocument) {
+        return iotAsyncClient
+                .listPolicyVersions(ListPolicyVersionsRequest.builder().policyName(policyName).build())
+                .thenCompose(
+                        response -> {
+                            List<PolicyVersion> versions = response.policyVersions();
+                            if (versions.size() < MAX_POLICY_VERSIONS) {
+                                return CompletableFuture.completedFuture(null);
+                            }
+
+                            PolicyVersion oldest =
+                                    versions.stream()
+                                            .filter(version -> !Boolean.TRUE.equals(version.isDefaultVersion()))
+                                            .min(Comparator.comparing(PolicyVersion::createDate))
+                                            .orElseThrow();
+
+                            return iotAsyncClient.deletePolicyVersion(
+                                    DeletePolicyVersionRequest.builder()
+                                            .policyName(policyName)
+                                            .policyVersionId(oldest.versionId())
+                                            .build());
+                        })
+                .thenCompose(
+                        ignored ->
+                                iotAsyncClient.createPolicyVersion(
+                                        CreatePolicyVersionRequest.builder()
+                                                .policyName(policyName)
+                                                .policyDocument(policyDocument)
+                                                .setAsDefault(true)
+                                                .build()))
+                .thenApply(response -> null);
+    }
+
+    private static boolean sameDocument(String current, String expected) {
+        return current != null && current.replaceAll("\\s", "").equals(expected.replaceAll("\\s", ""));
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+    /** @return Per-thing policy name used before the shared fleet policy */
+    public static String legacyPolicyName(String thingName) {
+        return thingName + "-policy";
+    }
+
+    public CompletableFuture<Void> attachPolicyToCertificateAsync(String certificateARN, String policyName) {
+        AttachPolicyRequest attachPolicyRequest =
+                AttachPolicyRequest.builder().policyName(policyName).target(certificateARN).build();
+
+        return iotAsyncClient.attachPolicy(attachPolicyRequest).thenApply(response -> null);
+    }
+
+    public CompletableFuture<Void> detachPolicyAsync(String policyName, String certificateARN) {
+        DetachPolicyRequest detachPolicyRequest =
+                DetachPolicyRequest.builder().policyName(policyName).target(certificateARN).build();
+
+        return iotAsyncClient.detachPolicy(detachPolicyRequest).thenApply(response -> null);
+    }
+
+    public CompletableFuture<List<String>> listAttachedPoliciesAsync(String certificateARN) {
+        ListAttachedPoliciesRequest listAttachedPoliciesRequest =
+                ListAttachedPoliciesRequest.builder().target(certificateARN).build();
+
+        return iotAsyncClient
+                .listAttachedPolicies(listAttachedPoliciesRequest)
+                .thenApply(response -> response.policies().stream().map(Policy::policyName).toList());
+    }
+
+    public CompletableFuture<List<String>> listThingPrincipalsAsync(String thingName) {
+        ListThingPrincipalsRequest listThingPrincipalsRequest =
+                ListThingPrincipalsRequest.builder().thingName(thingName).build();
+
+        return iotAsyncClient
+                .listThingPrincipals(listThingPrincipalsRequest)
+                .thenApply(response -> List.copyOf(response.principals()));
+    }
+
+    public CompletableFuture<Void> attachCertificateAsync(String thingName, String certificateARN) {
+        AttachThingPrincipalRequest attachThingPrincipalRequest =
+                AttachThingPrincipalRequest.builder()
+                        .thingName(thingName)
+                        .principal(certificateARN)
+                        .build();
+
+        return iotAsyncClient.attachThingPrincipal(attachThingPrincipalRequest).thenApply(response -> null);
+    }
+
+    public CompletableFuture<Void> addDeviceToGroupAsync(String thingName, String groupARN) {
+        thingGroupCache.remove(thingName);
+
+        AddThingToThingGroupRequest addThingToThingGroupRequest =
+                AddThingToThingGroupRequest.builder()
+                        .thingName(thingName)
+                        .thingGroupArn(groupARN)
+                        .build();
+
+        return iotAsyncClient
+                .addThingToThingGroup(addThingToThingGroupRequest)
+                .whenComplete((response, ex) -> thingGroupCache.remove(thingName))
+                .thenApply(response -> null);
+    }
+
+    public CompletableFuture<Void> removeThingFromGroupAsync(String thingName, String groupARN) {
+        thingGroupCache.remove(thingName);
+
+        RemoveThingFromThingGroupRequest removeThingFromThingGroupRequest =
+                RemoveThingFromThingGroupRequest.builder()
+                        .thingName(thingName)
+                        .thingGroupArn(groupARN)
+                        .build();
+
+        return iotAsyncClient
+                .removeThingFromThingGroup(removeThingFromThingGroupRequest)
+                .whenComplete((response, ex) -> thingGroupCache.remove(thingName))
+                .thenApply(response -> null);
+    }
+
+    public CompletableFuture<Void> detachCertificateAsync(String thingName, String certificateARN) {
+        DetachThingPrincipalRequest detachThingPrincipalRequest =
+                DetachThingPrincipalRequest.builder()
+                        .thingName(thingName)
+                        .principal(certificateARN)
+                        .build();
+
+        return iotAsyncClient.detachThingPrincipal(detachThingPrincipalRequest).thenApply(response -> null);
+    }
+
+    /** Detaches the policy from the certificate when given, then deletes the policy */
+    public CompletableFuture<Void> deletePolicyAsync(String policyName, String certificateARN) {
+        CompletableFuture<Void> detached =
+                certificateARN == null
+                        ? CompletableFuture.completedFuture(null)
+                        : iotAsyncClient
+                                .detachPolicy(
+                                        DetachPolicyRequest.builder()
+                                                .policyName(policyName)
+                                                .target(certificateARN)
+                                                .build())
+                                .handle((response, ex) -> null);
+
+        return detached.thenCompose(
+                ignored ->
+                        iotAsyncClient
+                                .deletePolicy(DeletePolicyRequest.builder().policyName(policyName).build())
+                                .thenApply(response -> null));
+    }
+
+    /** Deactivates then force deletes a certificate that is no longer attached to a thing */
+    public CompletableFuture<Void> deleteCertificateAsync(String certificateARN) {
+        String certificateId = certificateARN.substring(certificateARN.lastIndexOf('/') + 1);
+
+        return updateCertificateAsync(certificateARN, CertificateStatus.INACTIVE)
+                .thenCompose(
+                        ignored ->
+                                iotAsyncClient.deleteCertificate(
+                                        DeleteCertificateRequest.builder()
+                                                .certificateId(certificateId)
+                                                .forceDelete(true)
+                                                .build()))
+                .thenApply(response -> null);
+    }
+
+    public CompletableFuture<Void> removeThingAsync(String thingName) {
+        thingGroupCache.remove(thingName);
+
+        return iotAsyncClient
+                .deleteThing(DeleteThingRequest.builder().thingName(thingName).build())
+                .whenComplete((response, ex) -> thingGroupCache.remove(thingName))
+                .thenApply(response -> null);
+    }
+
     public void createThingGroup(String groupName, String outpostName) {
         CreateThingGroupRequest createThingGroupRequest =
                 CreateThingGroupRequest.builder()
@@ -381,6 +678,10 @@ public class IotManager {
     }
 
     public void removeThingGroup(String groupName) {
+        groupAttributesCache.remove(groupName);
+        String groupARN = getGroupARN(groupName);
+        thingGroupCache.values().removeIf(cached -> groupARN.equals(cached.value()));
+
         DeleteThingGroupRequest deleteGroupRequest =
                 DeleteThingGroupRequest.builder().thingGroupName(groupName).build();
 
@@ -401,6 +702,8 @@ public class IotManager {
     }
 
     public void updateThingGroupOutpost(String groupName, String newOutpostName) {
+        groupAttributesCache.remove(groupName);
+
         UpdateThingGroupRequest updateThingGroupRequest =
                 UpdateThingGroupRequest.builder()
                         .thingGroupName(groupName)
@@ -623,6 +926,34 @@ public class IotManager {
     }
 
     public Map<String, String> getGroupAttributes(String groupName) {
+        Cached<Map<String, String>> cached = groupAttributesCache.get(groupName);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.value();
+        }
+
+        Map<String, String> attributes = describeGroupAttributes(groupName);
+        if (attributes != null) {
+            attributes = Map.copyOf(attributes);
+            cache(groupAttributesCache, groupName, attributes);
+        }
+
+        return attributes;
+    }
+
+    private <T> void cache(ConcurrentHashMap<String, Cached<T>> cache, String key, T value) {
+        long now = System.currentTimeMillis();
+
+        if (cache.size() >= MAX_CACHED_ENTRIES) {
+            cache.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (cache.size() >= MAX_CACHED_ENTRIES) {
+                cache.clear();
+            }
+        }
+
+        cache.put(key, new Cached<>(value, now + config.iot().cacheTtl().toMillis()));
+    }
+
+    private Map<String, String> describeGroupAttributes(String groupName) {
         DescribeThingGroupRequest thingRequest =
                 DescribeThingGroupRequest.builder().thingGroupName(groupName).build();
 
@@ -668,23 +999,37 @@ public class IotManager {
         }
     }
 
-    public DroneStatusModel getDroneStatus(String deviceName) {
-        SearchIndexRequest request = SearchIndexRequest.builder()
-                .indexName("AWS_Things")
-                .queryString("thingName:\"" + deviceName + "\"")
-                .build();
-
-        SearchIndexResponse indexResponse = iotAsyncClient.searchIndex(request).join();
+    /**
+     * Reads the connectivity of every thing in a thing group from the fleet index, one paginated
+     * SearchIndex query for the whole group
+     *
+     * @return Connectivity per thing name, last_seen is left empty
+     */
+    public Map<String, DroneStatusModel> getGroupConnectivity(String groupName) {
+        Map<String, DroneStatusModel> statuses = new HashMap<>();
+        String nextToken = null;
+
+        do {
+            SearchIndexRequest request = SearchIndexRequest.builder()
+                    .indexName("AWS_Things")
+                    .queryString("thingGroupNames:\"" + groupName + "\"")
+                    .maxResults(500)
+                    .nextToken(nextToken)
+                    .build();
 
-        if (indexResponse.hasThings() && !indexResponse.things().isEmpty()) {
-            ThingDocument thing = indexResponse.things().getFirst();
+            SearchIndexResponse indexResponse = iotAsyncClient.searchIndex(request).join();
 
-            if (thing.connectivity() != null) {
-                return new DroneStatusModel(thing.connectivity().timestamp(), thing.connectivity().connected());
+            for (ThingDocument thing : indexResponse.things()) {
+                if (thing.connectivity() != null) {
+                    statuses.put(thing.thingName(), new DroneStatusModel(thing.connectivity().timestamp(), thing.connectivity().connected(), null));
+                } else {
+                    statuses.put(thing.thingName(), new DroneStatusModel(null, false, null));
+                }
             }
 
-            return new DroneStatusModel(null, false);
-        }
-        return null;
+            nextToken = indexResponse.nextToken();
+        } while (nextToken != null);
+
+        return statuses;
     }
 }
@@ -52,25 +52,39 @@ public class KinesisVideoManager {
     }
 
     public UUID createSignalingChannel(UUID droneUuid) {
+        try {
+            return createSignalingChannelAsync(droneUuid).join();
+        } catch (Exception e) {
+            logger.error(e);
+            return null;
+        }
+    }
+
+    /**
+     * @return The drone UUID, which is also the channel name, once the channel exists
+     */
+    public CompletableFuture<UUID> createSignalingChannelAsync(UUID droneUuid) {
         CreateSignalingChannelRequest request = CreateSignalingChannelRequest
                 .builder()
                 .channelName(droneUuid.toString())
                 .build();
 
-        try {
-            CompletableFuture<CreateSignalingChannelResponse> future = kinesisAsyncClient.createSignalingChannel(request);
-            var response = future.join();
+        return kinesisAsyncClient.createSignalingChannel(request).thenApply(response -> droneUuid);
+    }
 
-            if (response.sdkHttpResponse().isSuccessful()) {
-                return droneUuid;
-            } else {
-                return null;
-            }
+    public CompletableFuture<Void> deleteSignalingChannelAsync(UUID droneUuid) {
+        DescribeSignalingChannelRequest describeRequest = DescribeSignalingChannelRequest
+                .builder()
+                .channelName(droneUuid.toString())
+                .build();
 
-        } catch (Exception e) {
-            logger.error(e);
-            return null;
-        }
+        return kinesisAsyncClient
+                .describeSignalingChannel(describeRequest)
+                .thenCompose(describeResponse -> kinesisAsyncClient.deleteSignalingChannel(
+                        DeleteSignalingChannelRequest.builder()
+                                .channelARN(describeResponse.channelInfo().channelARN())
+                                .build()))
+                .thenApply(response -> null);
     }
 
     public void deleteSignalingChannel(UUID droneUuid) {
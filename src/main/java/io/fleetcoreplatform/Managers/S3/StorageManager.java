@@ -6,27 +6,44 @@ import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Default;
 import jakarta.inject.Inject;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
-import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.BlockingOutputStreamAsyncRequestBody;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
 import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.utils.CancellableOutputStream;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
-import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 @ApplicationScoped
 public class StorageManager {
     S3Client s3Client;
+    S3AsyncClient s3AsyncClient;
+    S3Presigner presigner;
+
+    /** Least recently used URLs are evicted once aws.s3.presign-cache-max-entries is reached */
+    private Map<String, String> presignedUrls;
 
     @Inject ApplicationConfig config;
 
@@ -36,16 +53,55 @@ public class StorageManager {
     void init() {
         logger = Logger.getLogger(StorageManager.class.getName());
 
+        int maxPresignedUrls = config.s3().presignCacheMaxEntries();
+        presignedUrls =
+                Collections.synchronizedMap(
+                        new LinkedHashMap<>(16, 0.75f, true) {
+                            @Override
+                            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                                return size() > maxPresignedUrls;
+                            }
+                        });
+
         s3Client =
                 S3Client.builder()
                         .region(Region.of(config.region()))
                         .credentialsProvider(DefaultCredentialsProvider.builder().build())
                         .build();
+
+        SdkAsyncHttpClient asyncHttpClient =
+                NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(50)
+                        .connectionTimeout(Duration.ofSeconds(60))
+                        .readTimeout(Duration.ofSeconds(60))
+                        .writeTimeout(Duration.ofSeconds(60))
+                        .build();
+
+        presigner =
+                S3Presigner.builder()
+                        .region(Region.of(config.region()))
+                        .credentialsProvider(DefaultCredentialsProvider.builder().build())
+                        .build();
+
+        s3AsyncClient =
+                S3AsyncClient.builder()
+                        .region(Region.of(config.region()))
+                        .credentialsProvider(DefaultCredentialsProvider.builder().build())
+                        .httpClient(asyncHttpClient)
+                        .multipartEnabled(true)
+                        .multipartConfiguration(
+                                MultipartConfiguration.builder()
+                                        .thresholdInBytes(config.s3().multipartThreshold())
+                                        .minimumPartSizeInBytes(config.s3().multipartPartSize())
+                                        .build())
+                        .build();
     }
 
     @PreDestroy
     void destroy() {
         s3Client.close();
+        s3AsyncClient.close();
+        presigner.close();
     }
 
     public boolean createBucket(String bucketName) {
@@ -83,75 +139,109 @@ public class StorageManager {
         }
     }
 
+    /**
+     * Streams a bundle to AWS S3 without buffering it
+     *
+     * @param bundleUUID The name of the object, without the extension
+     * @return The key of the created S3 object, or null if the upload failed
+     */
     public String uploadMissionBundle(String bundleUUID, InputStream missionBundle)
             throws IOException {
-        byte[] bytes = missionBundle.readAllBytes();
-        String bundleKey = bundleUUID + ".bundle.zip";
-
         try {
-            PutObjectResponse response =
-                    s3Client.putObject(
-                            PutObjectRequest.builder()
-                                    .bucket(config.s3().bucketName())
-                                    .key(bundleKey)
-                                    .contentType("zip")
-                                    .build(),
-                            RequestBody.fromInputStream(
-                                    new ByteArrayInputStream(bytes), bytes.length));
-
-            if (response != null && response.sdkHttpResponse().isSuccessful()) {
-                return bundleKey;
-            } else {
-                return null;
-            }
-
-        } catch (Exception e) {
-            if (e instanceof S3Exception) {
-                logger.log(Level.SEVERE, ((S3Exception) e).awsErrorDetails().errorMessage(), e);
-            } else {
-                logger.log(Level.SEVERE, e.getMessage(), e);
+            return uploadMissionBundleAsync(bundleUUID, missionBundle::transferTo).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
             }
+            logUploadFailure(e.getCause());
             return null;
         }
     }
 
     /**
-     * Uploads an object to AWS S3
+     * Uploads an object to AWS S3, the file is deleted afterward whether the upload succeeded or
+     * not
      *
      * @param bundlePath The full name of the object, can use <b>/</b> for folders
      * @param missionBundle The actual file to upload to the bucket
-     * @return The key of the created S3 object
+     * @return The key of the created S3 object, or null if the upload failed
      */
     public String uploadMissionBundle(String bundlePath, File missionBundle) {
         String bundleKey = bundlePath + ".bundle.zip";
 
         try {
-            PutObjectResponse response =
-                    s3Client.putObject(
-                            PutObjectRequest.builder()
-                                    .bucket(config.s3().bucketName())
-                                    .key(bundleKey)
-                                    .contentType("application/zip")
-                                    .build(),
-                            missionBundle.toPath());
-
-            if (response != null && response.sdkHttpResponse().isSuccessful()) {
-                if (!missionBundle.delete()) {
-                    logger.warning("Cleanup failed, manual tmp cleaning required!");
-                }
-                ;
-                return bundleKey;
-            } else {
-                return null;
+            s3AsyncClient
+                    .putObject(bundleRequest(bundleKey), AsyncRequestBody.fromFile(missionBundle.toPath()))
+                    .join();
+            return bundleKey;
+        } catch (CompletionException e) {
+            logUploadFailure(e.getCause());
+            return null;
+        } finally {
+            try {
+                Files.deleteIfExists(missionBundle.toPath());
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Cannot delete mission bundle " + missionBundle, e);
             }
+        }
+    }
+
+    /**
+     * Uploads a bundle written by the caller straight into the request body, nothing is written
+     * to disk or held in memory. Bundles above the multipart threshold are sent in parts as they
+     * are written. The writer runs on the calling thread, if it fails the upload is aborted and no
+     * object is created.
+     *
+     * @param bundlePath The full name of the object, can use <b>/</b> for folders
+     * @return The key of the created S3 object
+     */
+    public CompletableFuture<String> uploadMissionBundleAsync(String bundlePath, BundleWriter writer) {
+        String bundleKey = bundlePath + ".bundle.zip";
 
+        BlockingOutputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingOutputStream(null);
+        CompletableFuture<PutObjectResponse> upload = s3AsyncClient.putObject(bundleRequest(bundleKey), body);
+
+        CancellableOutputStream output = body.outputStream();
+        try {
+            writer.write(output);
+            output.close();
         } catch (Exception e) {
-            if (e instanceof S3Exception) {
-                logger.log(Level.SEVERE, ((S3Exception) e).awsErrorDetails().errorMessage(), e);
-            } else {
-                logger.log(Level.SEVERE, e.getMessage(), e);
-            }
-            return null;
+            output.cancel();
+            upload.cancel(true);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return upload.thenApply(response -> bundleKey);
+    }
+
+    @FunctionalInterface
+    public interface BundleWriter {
+        void write(OutputStream output) throws IOException;
+    }
+
+    private PutObjectRequest bundleRequest(String bundleKey) {
+        return PutObjectRequest.builder()
+                .bucket(config.s3().bucketName())
+                .key(bundleKey)
+                .contentType("application/zip")
+                .build();
+    }
+
+    private void logUploadFailure(Throwable e) {
+        if (e instanceof S3Exception s3Exception) {
+            logger.log(Level.SEVERE, s3Exception.awsErrorDetails().errorMessage(), e);
+        } else {
+            logger.log(Level.SEVERE, e.getMessage(), e);
+        }
+    }
+
+    /** @return False if the object does not exist anymore, for example removed by a lifecycle rule */
+    public boolean objectExists(String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder().bucket(config.s3().bucketName()).key(key).build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
         }
     }
 
@@ -159,21 +249,49 @@ public class StorageManager {
         return "s3://" + config.s3().bucketName() + "/" + key;
     }
 
+    /**
+     * Presigns a download URL valid for at least the given time. URLs are cached per object key,
+     * validity and window, see {@code aws.s3.presign-cache-window}, up to {@code
+     * aws.s3.presign-cache-max-entries} of them.
+     */
     public String getPresignedObjectUrl(String key, Integer valid_minutes) {
-        try (S3Presigner presigner = S3Presigner.create()) {
-            GetObjectRequest getObjectRequest =
-                    GetObjectRequest.builder().bucket(config.s3().bucketName()).key(key).build();
+        long window = config.s3().presignCacheWindow().toMillis();
+        long now = System.currentTimeMillis();
+        long windowEnd = (now / window + 1) * window;
+        String cacheKey = key + "|" + valid_minutes + "|" + windowEnd;
+
+        // URLs of past windows are never looked up again, they age out of the LRU order
+        String cached = presignedUrls.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
 
-            GetObjectPresignRequest presignRequest =
-                    GetObjectPresignRequest.builder()
-                            .signatureDuration(Duration.ofMinutes(valid_minutes))
-                            .getObjectRequest(getObjectRequest)
-                            .build();
+        GetObjectRequest getObjectRequest =
+                GetObjectRequest.builder().bucket(config.s3().bucketName()).key(key).build();
 
-            PresignedGetObjectRequest presignedGetObjectRequest =
-                    presigner.presignGetObject(presignRequest);
+        GetObjectPresignRequest presignRequest =
+                GetObjectPresignRequest.builder()
+                        .signatureDuration(Duration.ofMinutes(valid_minutes).plusMillis(windowEnd - now))
+                        .getObjectRequest(getObjectRequest)
+                        .build();
 
-            return presignedGetObjectRequest.url().toExternalForm();
+        String url = presigner.presignGetObject(presignRequest).url().toExternalForm();
+        presignedUrls.put(cacheKey, url);
+
+        return url;
+    }
+
+    /**
+     * Presigns download URLs of many objects at once, see {@link #getPresignedObjectUrl}
+     *
+     * @return URL of every distinct key
+     */
+    public Map<String, String> getPresignedObjectUrls(Collection<String> keys, Integer valid_minutes) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (String key : keys) {
+            urls.computeIfAbsent(key, k -> getPresignedObjectUrl(k, valid_minutes));
         }
+
+        return urls;
     }
 }
@@ -1,83 +1,171 @@
 package io.fleetcoreplatform.Managers.SQS;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import io.fleetcoreplatform.Configs.ApplicationConfig;
-import io.fleetcoreplatform.Models.DroneTelemetryModel;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.*;
 
 @ApplicationScoped
 public class SqsManager {
-    private SqsClient sqsClient;
-    private ObjectMapper mapper;
+    /** Upper bound of SQS for both ReceiveMessage and DeleteMessageBatch */
+    public static final int MAX_BATCH_SIZE = 10;
+
+    private SqsAsyncClient sqsAsyncClient;
+    private final ConcurrentHashMap<String, CompletableFuture<String>> queueUrls = new ConcurrentHashMap<>();
 
     @Inject ApplicationConfig config;
+    @Inject Logger logger;
 
     @PostConstruct
     public void init() {
-        sqsClient = SqsClient.builder().region(Region.of(config.region())).build();
-        mapper = new CBORMapper();
-        mapper.setPropertyNamingStrategy(PropertyNamingStrategies.LOWER_CAMEL_CASE);
+        SdkAsyncHttpClient asyncHttpClient =
+                NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(100)
+                        .connectionTimeout(Duration.ofSeconds(60))
+                        // Must outlive the 20 seconds long poll
+                        .readTimeout(Duration.ofSeconds(60))
+                        .writeTimeout(Duration.ofSeconds(60))
+                        .build();
+
+        sqsAsyncClient =
+                SqsAsyncClient.builder()
+                        .region(Region.of(config.region()))
+                        .httpClient(asyncHttpClient)
+                        .build();
     }
 
     @PreDestroy
     public void destroy() {
-        sqsClient.close();
+        sqsAsyncClient.close();
     }
 
-    public SqsClient getClient() {
-        return sqsClient;
+    public SqsAsyncClient getClient() {
+        return sqsAsyncClient;
     }
 
-    public List<DroneTelemetryModel> ingestQueue(String queueName) {
-        GetQueueUrlRequest getQueueUrlRequest =
-                GetQueueUrlRequest.builder().queueName(queueName).build();
-
-        String queueUrl = sqsClient.getQueueUrl(getQueueUrlRequest).queueUrl();
+    /**
+     * Resolves the telemetry queue URL once, the queue name is fixed for the lifetime of the
+     * application. A failed lookup is not cached, so the next caller retries it.
+     */
+    public CompletableFuture<String> getQueueUrl() {
+        return getQueueUrl(config.sqs().queueName());
+    }
 
-        ReceiveMessageRequest receiveRequest =
-                ReceiveMessageRequest.builder().maxNumberOfMessages(10).queueUrl(queueUrl).build();
+    /** Resolves the URL of the named queue once, see {@link #getQueueUrl()} */
+    public CompletableFuture<String> getQueueUrl(String queueName) {
+        CompletableFuture<String> cached = queueUrls.get(queueName);
+        if (cached != null && !cached.isCompletedExceptionally()) {
+            return cached;
+        }
 
-        ReceiveMessageResponse receiveMessageResponse = sqsClient.receiveMessage(receiveRequest);
+        GetQueueUrlRequest getQueueUrlRequest =
+                GetQueueUrlRequest.builder().queueName(queueName).build();
 
-        List<DroneTelemetryModel> result = new ArrayList<>();
+        cached = sqsAsyncClient.getQueueUrl(getQueueUrlRequest).thenApply(GetQueueUrlResponse::queueUrl);
+        queueUrls.put(queueName, cached);
 
-        receiveMessageResponse
-                .messages()
-                .forEach(
-                        message -> {
-                            try {
-                                String messageBody = message.body();
+        return cached;
+    }
 
-                                byte[] cborBytes = Base64.getDecoder().decode(messageBody);
+    /**
+     * Long-polls the telemetry queue once without removing anything, the caller has to
+     * acknowledge processed messages with {@link #deleteMessages(List)}
+     *
+     * @param waitTimeSeconds How long SQS may hold the request open while the queue is empty
+     */
+    public CompletableFuture<List<Message>> receiveTelemetry(int waitTimeSeconds) {
+        return receiveMessages(config.sqs().queueName(), waitTimeSeconds);
+    }
 
-                                DroneTelemetryModel model =
-                                        mapper.readValue(cborBytes, DroneTelemetryModel.class);
-                                result.add(model);
+    /** Long-polls the named queue once, see {@link #receiveTelemetry(int)} */
+    public CompletableFuture<List<Message>> receiveMessages(String queueName, int waitTimeSeconds) {
+        return getQueueUrl(queueName)
+                .thenCompose(
+                        url ->
+                                sqsAsyncClient.receiveMessage(
+                                        ReceiveMessageRequest.builder()
+                                                .queueUrl(url)
+                                                .maxNumberOfMessages(MAX_BATCH_SIZE)
+                                                .waitTimeSeconds(waitTimeSeconds)
+                                                .messageSystemAttributeNames(
+                                                        MessageSystemAttributeName.SENT_TIMESTAMP)
+                                                .build()))
+                .thenApply(ReceiveMessageResponse::messages);
+    }
 
-                                DeleteMessageRequest deleteRequest =
-                                        DeleteMessageRequest.builder()
-                                                .queueUrl(queueUrl)
-                                                .receiptHandle(message.receiptHandle())
-                                                .build();
+    /**
+     * Acknowledges messages with DeleteMessageBatch calls of at most {@value #MAX_BATCH_SIZE}
+     * entries
+     *
+     * @return The number of messages SQS failed to delete
+     */
+    public CompletableFuture<Integer> deleteMessages(List<Message> messages) {
+        return deleteMessages(config.sqs().queueName(), messages);
+    }
 
-                                sqsClient.deleteMessage(deleteRequest);
-                            } catch (IOException e) {
-                                System.err.printf("Failed to deserialize CBOR message: %s%n", e);
+    /** Acknowledges messages received from the named queue, see {@link #deleteMessages(List)} */
+    public CompletableFuture<Integer> deleteMessages(String queueName, List<Message> messages) {
+        if (messages.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        return getQueueUrl(queueName)
+                .thenCompose(
+                        url -> {
+                            List<CompletableFuture<Integer>> batches = new ArrayList<>();
+
+                            for (int from = 0; from < messages.size(); from += MAX_BATCH_SIZE) {
+                                List<Message> chunk =
+                                        messages.subList(
+                                                from, Math.min(from + MAX_BATCH_SIZE, messages.size()));
+
+                                List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(chunk.size());
+                                for (int i = 0; i < chunk.size(); i++) {
+                                    entries.add(
+                                            DeleteMessageBatchRequestEntry.builder()
+                                                    .id(Integer.toString(i))
+                                                    .receiptHandle(chunk.get(i).receiptHandle())
+                                                    .build());
+                                }
+
+                                batches.add(
+                                        sqsAsyncClient
+                                                .deleteMessageBatch(
+                                                        DeleteMessageBatchRequest.builder()
+                                                                .queueUrl(url)
+                                                                .entries(entries)
+                                                                .build())
+                                                .thenApply(
+                                                        response -> {
+                                                            response.failed()
+                                                                    .forEach(
+                                                                            failure ->
+                                                                                    logger.warnf(
+                                                                                            "Failed to delete message from %s: %s",
+                                                                                            queueName,
+                                                                                            failure.message()));
+                                                            return response.failed().size();
+                                                        }));
                             }
-                        });
 
-        return result;
+                            return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0]))
+                                    .thenApply(
+                                            ignored ->
+                                                    batches.stream()
+                                                            .mapToInt(CompletableFuture::join)
+                                                            .sum());
+                        });
     }
 }
@@ -0,0 +1,242 @@
+package io.fleetcoreplatform.Managers.SQS;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Streaming decoder for the Base64 encoded CBOR telemetry published by the drones.
+ *
+ * <p>The Base64 text is decoded into a scratch buffer owned by the decoder, and the CBOR map is
+ * read token by token straight into a reusable {@link TelemetryFrame}, so no intermediate byte
+ * arrays, boxed numbers or nested records are created per message. Instances are not thread-safe,
+ * every ingestion worker owns one.
+ */
+public class TelemetryFrameDecoder {
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+    private static final byte[] BASE64_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private byte[] scratch = new byte[512];
+
+    /**
+     * Decodes one SQS message body into the given frame, overwriting its previous content
+     *
+     * @return true if the frame carries a valid drone UUID, any other device name is kept in
+     *     {@link TelemetryFrame#getDeviceName()}
+     * @throws IOException If the payload is not valid CBOR
+     * @throws IllegalArgumentException If the body is not valid Base64
+     */
+    public boolean decode(String messageBody, TelemetryFrame frame) throws IOException {
+        int length = decodeBase64(messageBody);
+        frame.reset();
+
+        try (JsonParser parser = CBOR_FACTORY.createParser(scratch, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Telemetry payload is not a map");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                switch (field) {
+                    case "device_name" -> readDevice(parser, value, frame);
+                    case "timestamp" -> frame.setTimestamp(readDouble(parser, value));
+                    case "position" -> readPosition(parser, value, frame);
+                    case "battery" -> readBattery(parser, value, frame);
+                    case "health" -> readHealth(parser, value, frame);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        return frame.hasDevice();
+    }
+
+    private static void readPosition(JsonParser parser, JsonToken token, TelemetryFrame frame)
+            throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        frame.setHasPosition(true);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            switch (field) {
+                case "latitude_deg" -> frame.setLatitude(readDouble(parser, value));
+                case "longitude_deg" -> frame.setLongitude(readDouble(parser, value));
+                case "relative_altitude_m" -> frame.setRelativeAltitude(readDouble(parser, value));
+                case "heading_deg" -> frame.setHeading(readDouble(parser, value));
+                case "ground_speed_ms" -> frame.setGroundSpeed(readDouble(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readBattery(JsonParser parser, JsonToken token, TelemetryFrame frame)
+            throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        frame.setHasBattery(true);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            switch (field) {
+                case "temperature_degc" -> frame.setBatteryTemperature(readDouble(parser, value));
+                case "voltage_v" -> frame.setBatteryVoltage(readDouble(parser, value));
+                case "remaining_percent" -> frame.setBatteryRemaining(readDouble(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readHealth(JsonParser parser, JsonToken token, TelemetryFrame frame)
+            throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        frame.setHasHealth(true);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            int flag =
+                    switch (field) {
+                        case "is_gyrometer_calibration_ok" -> TelemetryFrame.GYROMETER_OK;
+                        case "is_accelerometer_calibration_ok" -> TelemetryFrame.ACCELEROMETER_OK;
+                        case "is_magnetometer_calibration_ok" -> TelemetryFrame.MAGNETOMETER_OK;
+                        case "is_local_position_ok" -> TelemetryFrame.LOCAL_POSITION_OK;
+                        case "is_global_position_ok" -> TelemetryFrame.GLOBAL_POSITION_OK;
+                        case "is_home_position_ok" -> TelemetryFrame.HOME_POSITION_OK;
+                        default -> 0;
+                    };
+
+            if (flag != 0 && value.isBoolean()) {
+                frame.setHealth(flag, value == JsonToken.VALUE_TRUE);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static double readDouble(JsonParser parser, JsonToken token) throws IOException {
+        if (token.isNumeric()) {
+            return parser.getDoubleValue();
+        }
+
+        parser.skipChildren();
+        return Double.NaN;
+    }
+
+    /** Agents that report their drone name instead of a UUID keep it on the frame */
+    private static void readDevice(JsonParser parser, JsonToken token, TelemetryFrame frame)
+            throws IOException {
+        if (token != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return;
+        }
+
+        if (!readUuid(parser, frame)) {
+            frame.setDeviceName(parser.getText());
+        }
+    }
+
+    /** Parses the canonical 36 character UUID form without materializing a String */
+    private static boolean readUuid(JsonParser parser, TelemetryFrame frame) throws IOException {
+        if (parser.getTextLength() != 36) {
+            return false;
+        }
+
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+
+        if (chars[offset + 8] != '-'
+                || chars[offset + 13] != '-'
+                || chars[offset + 18] != '-'
+                || chars[offset + 23] != '-') {
+            return false;
+        }
+
+        long mostSigBits = 0;
+        long leastSigBits = 0;
+        int digits = 0;
+
+        for (int i = 0; i < 36; i++) {
+            char c = chars[offset + i];
+            if (c == '-') {
+                continue;
+            }
+
+            int nibble = Character.digit(c, 16);
+            if (nibble < 0) {
+                return false;
+            }
+
+            if (digits < 16) {
+                mostSigBits = (mostSigBits << 4) | nibble;
+            } else {
+                leastSigBits = (leastSigBits << 4) | nibble;
+            }
+            digits++;
+        }
+
+        frame.setDevice(mostSigBits, leastSigBits);
+        return true;
+    }
+
+    private int decodeBase64(String text) {
+        int length = text.length();
+        while (length > 0 && text.charAt(length - 1) == '=') {
+            length--;
+        }
+
+        int required = length * 3 / 4;
+        if (scratch.length < required) {
+            scratch = new byte[Math.max(required, scratch.length * 2)];
+        }
+
+        int accumulator = 0;
+        int bits = 0;
+        int written = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int value = c < 128 ? BASE64_VALUES[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Illegal base64 character at index " + i);
+            }
+
+            accumulator = (accumulator << 6) | value;
+            bits += 6;
+
+            if (bits >= 8) {
+                bits -= 8;
+                scratch[written++] = (byte) (accumulator >> bits);
+                accumulator &= (1 << bits) - 1;
+            }
+        }
+
+        return written;
+    }
+}
@@ -0,0 +1,20 @@
+package io.fleetcoreplatform.Models;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @param type REGISTRATION or DECOMMISSION
+ * @param status RUNNING until every drone is either SUCCEEDED or FAILED, then COMPLETED
+ */
+public record BulkProvisioningJobModel(
+        UUID job_uuid,
+        String type,
+        String status,
+        Timestamp created_at,
+        Timestamp finished_at,
+        int total,
+        int succeeded,
+        int failed,
+        List<DroneProvisioningModel> drones) {}
@@ -0,0 +1,5 @@
+package io.fleetcoreplatform.Models;
+
+import java.util.List;
+
+public record BulkProvisioningRequestModel(List<DroneRequestModel> drones) {}
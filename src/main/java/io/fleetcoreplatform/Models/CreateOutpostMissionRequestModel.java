@@ -0,0 +1,10 @@
+package io.fleetcoreplatform.Models;
+
+import java.util.UUID;
+
+public record CreateOutpostMissionRequestModel(
+        String jobName,
+        UUID outpostUuid,
+        Integer altitude,
+        String scheduled
+) {}
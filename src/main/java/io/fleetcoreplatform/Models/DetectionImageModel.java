@@ -0,0 +1,8 @@
+package io.fleetcoreplatform.Models;
+
+import java.util.UUID;
+
+/**
+ * @param url Presigned download URL of the image
+ */
+public record DetectionImageModel(UUID detection_uuid, String image_key, String url) {}
@@ -0,0 +1,18 @@
+package io.fleetcoreplatform.Models;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+import software.amazon.awssdk.services.iot.model.JobExecutionStatus;
+
+/**
+ * @param drone_name Null if the drone was removed since the mission was created
+ * @param status Null if the job has no execution for the drone yet
+ */
+public record DroneExecutionModel(
+        UUID drone_uuid,
+        String drone_name,
+        JobExecutionStatus status,
+        Long execution_number,
+        Timestamp queued_at,
+        Timestamp started_at,
+        Timestamp last_updated_at) {}
@@ -5,5 +5,9 @@ import java.time.Instant;
 import java.util.UUID;
 import software.amazon.awssdk.services.iot.model.JobExecutionStatus;
 
+/**
+ * @param refreshedAt When the status was last read from IoT Core, or the time of the job execution
+ *     event it comes from
+ */
 public record DroneExecutionStatusResponseModel(
-        UUID droneUUID, JobExecutionStatus status, Timestamp startedAtt) {}
+        UUID droneUUID, JobExecutionStatus status, Timestamp startedAtt, Timestamp refreshedAt) {}
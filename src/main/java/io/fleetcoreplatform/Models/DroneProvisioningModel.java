@@ -0,0 +1,10 @@
+package io.fleetcoreplatform.Models;
+
+import java.util.UUID;
+
+/**
+ * @param index Position of the drone in the submitted batch
+ * @param status PENDING, RUNNING, SUCCEEDED or FAILED
+ */
+public record DroneProvisioningModel(
+        int index, String drone_name, String status, UUID drone_uuid, String error) {}
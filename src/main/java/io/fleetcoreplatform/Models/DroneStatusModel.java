@@ -1,6 +1,12 @@
 package io.fleetcoreplatform.Models;
 
+/**
+ * @param uptime Epoch milliseconds of the last MQTT connect or disconnect seen by the fleet index
+ * @param connected Whether the drone is considered online
+ * @param last_seen Epoch milliseconds of the last telemetry frame received from the drone
+ */
 public record DroneStatusModel(
     Long uptime,
-    Boolean connected
+    Boolean connected,
+    Long last_seen
 ) {}
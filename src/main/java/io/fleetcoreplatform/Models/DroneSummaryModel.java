@@ -15,6 +15,7 @@ public class DroneSummaryModel {
     private Double remaining_percent;
     private Boolean inFlight;
     private String signaling_channel_name;
+    private DroneStatusModel status;
 
     public DroneSummaryModel() {}
 
@@ -46,6 +47,7 @@ public class DroneSummaryModel {
     public Double getRemaining_percent() { return remaining_percent; }
     public Boolean getInFlight() { return inFlight; }
     public String getSignaling_channel_name() { return signaling_channel_name; }
+    public DroneStatusModel getStatus() { return status; }
 
     // Setters
     public void setUuid(UUID uuid) { this.uuid = uuid; }
@@ -59,4 +61,5 @@ public class DroneSummaryModel {
     public void setRemaining_percent(Double remaining_percent) { this.remaining_percent = remaining_percent; }
     public void setInFlight(Boolean inFlight) { this.inFlight = inFlight; }
     public void setSignaling_channel_name(String signaling_channel_name) { this.signaling_channel_name = signaling_channel_name; }
+    public void setStatus(DroneStatusModel status) { this.status = status; }
 }
\ No newline at end of file
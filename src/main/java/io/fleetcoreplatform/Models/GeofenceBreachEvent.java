@@ -0,0 +1,20 @@
+package io.fleetcoreplatform.Models;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Raised when a drone leaves its outpost area (BREACH) or comes back into it (RETURN)
+ */
+public record GeofenceBreachEvent(
+        Type type,
+        UUID drone_uuid,
+        UUID outpost_uuid,
+        double latitude_deg,
+        double longitude_deg,
+        Timestamp detected_at) {
+    public enum Type {
+        BREACH,
+        RETURN
+    }
+}
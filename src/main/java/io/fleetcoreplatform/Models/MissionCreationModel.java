@@ -0,0 +1,15 @@
+package io.fleetcoreplatform.Models;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @param stages Stages in the order they run
+ */
+public record MissionCreationModel(
+        UUID mission_uuid,
+        String status,
+        Timestamp created_at,
+        Timestamp finished_at,
+        List<MissionStageModel> stages) {}
@@ -0,0 +1,37 @@
+package io.fleetcoreplatform.Models;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A mission validated and resolved while handling the request, waiting to be planned, uploaded
+ * and dispatched by the mission creation pipeline.
+ *
+ * @param groupUuid Null for a solo mission
+ * @param droneUuids Drones recorded for the mission
+ * @param wholeGroup True if the job targets the thing group instead of each drone
+ * @param bundleHash Hash of the planning inputs, null if the bundle cannot be reused
+ * @param planner Builds the mission bundle
+ */
+public record MissionDraft(
+        UUID missionUuid,
+        UUID groupUuid,
+        UUID coordinatorUuid,
+        String jobName,
+        String scheduled,
+        String missionPath,
+        String outpostName,
+        Timestamp startedAt,
+        List<UUID> droneUuids,
+        boolean wholeGroup,
+        String bundleHash,
+        Planner planner) {
+
+    @FunctionalInterface
+    public interface Planner {
+        File build() throws IOException;
+    }
+}
@@ -4,4 +4,7 @@ import software.amazon.awssdk.services.iot.model.JobStatus;
 
 import java.sql.Timestamp;
 
-public record MissionExecutionStatusModel(JobStatus jobStatus, Timestamp startedAt, Timestamp finishedAt, String scheduledTo) {}
+/**
+ * @param refreshedAt When the status was last read from IoT Core
+ */
+public record MissionExecutionStatusModel(JobStatus jobStatus, Timestamp startedAt, Timestamp finishedAt, String scheduledTo, Timestamp refreshedAt) {}
@@ -0,0 +1,19 @@
+package io.fleetcoreplatform.Models;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import software.amazon.awssdk.services.iot.model.JobExecutionStatus;
+import software.amazon.awssdk.services.iot.model.JobStatus;
+
+/**
+ * @param counts Number of drones per execution status
+ * @param refreshed_at When the executions were last read from IoT Core
+ */
+public record MissionExecutionsModel(
+        UUID mission_uuid,
+        JobStatus job_status,
+        Map<JobExecutionStatus, Integer> counts,
+        List<DroneExecutionModel> executions,
+        Timestamp refreshed_at) {}
@@ -0,0 +1,10 @@
+package io.fleetcoreplatform.Models;
+
+import java.sql.Timestamp;
+
+/**
+ * @param attempts Number of times the stage was started
+ * @param error Message of the last failed attempt
+ */
+public record MissionStageModel(
+        String name, String status, int attempts, String error, Timestamp finished_at) {}
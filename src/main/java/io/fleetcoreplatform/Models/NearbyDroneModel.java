@@ -0,0 +1,7 @@
+package io.fleetcoreplatform.Models;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+public record NearbyDroneModel(
+        UUID drone_uuid, double latitude_deg, double longitude_deg, double distance_m, Timestamp last_seen) {}
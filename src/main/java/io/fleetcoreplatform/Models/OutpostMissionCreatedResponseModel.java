@@ -0,0 +1,6 @@
+package io.fleetcoreplatform.Models;
+
+import java.util.List;
+import java.util.UUID;
+
+public record OutpostMissionCreatedResponseModel(UUID outpostMissionUUID, List<UUID> missionUUIDs) {}
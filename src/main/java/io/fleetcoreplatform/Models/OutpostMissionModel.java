@@ -0,0 +1,17 @@
+package io.fleetcoreplatform.Models;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @param status RUNNING until every mission creation finished, then SUCCEEDED, FAILED, or
+ *     COMPLETED if only some succeeded
+ * @param missions Creation of the mission of every group
+ */
+public record OutpostMissionModel(
+        UUID outpost_mission_uuid,
+        UUID outpost_uuid,
+        String status,
+        Timestamp created_at,
+        List<MissionCreationModel> missions) {}
@@ -0,0 +1,278 @@
+package io.fleetcoreplatform.Models;
+
+import java.util.UUID;
+
+/**
+ * Mutable, primitive typed counterpart of {@link DroneTelemetryModel} used on the ingestion path.
+ * Missing numeric values are stored as {@link Double#NaN}. Instances are reused between messages
+ * by the decoder, so listeners have to {@link #copy()} a frame they want to keep. Unlike the other
+ * models it is not a record, every ingestion worker fills the same instance for each message.
+ */
+public class TelemetryFrame {
+    public static final int GYROMETER_OK = 1;
+    public static final int ACCELEROMETER_OK = 1 << 1;
+    public static final int MAGNETOMETER_OK = 1 << 2;
+    public static final int LOCAL_POSITION_OK = 1 << 3;
+    public static final int GLOBAL_POSITION_OK = 1 << 4;
+    public static final int HOME_POSITION_OK = 1 << 5;
+
+    private boolean hasDevice;
+    private long deviceMostSigBits;
+    private long deviceLeastSigBits;
+    /** Reported device name when it is not a UUID, null otherwise */
+    private String deviceName;
+    private double timestamp;
+
+    private boolean hasPosition;
+    private double latitude;
+    private double longitude;
+    private double relativeAltitude;
+    private double heading;
+    private double groundSpeed;
+
+    private boolean hasBattery;
+    private double batteryTemperature;
+    private double batteryVoltage;
+    private double batteryRemaining;
+
+    private boolean hasHealth;
+    private int healthPresent;
+    private int healthValues;
+
+    public TelemetryFrame() {
+        reset();
+    }
+
+    public void reset() {
+        hasDevice = false;
+        deviceMostSigBits = 0;
+        deviceLeastSigBits = 0;
+        deviceName = null;
+        timestamp = Double.NaN;
+
+        hasPosition = false;
+        latitude = Double.NaN;
+        longitude = Double.NaN;
+        relativeAltitude = Double.NaN;
+        heading = Double.NaN;
+        groundSpeed = Double.NaN;
+
+        hasBattery = false;
+        batteryTemperature = Double.NaN;
+        batteryVoltage = Double.NaN;
+        batteryRemaining = Double.NaN;
+
+        hasHealth = false;
+        healthPresent = 0;
+        healthValues = 0;
+    }
+
+    public TelemetryFrame copy() {
+        TelemetryFrame copy = new TelemetryFrame();
+
+        copy.hasDevice = hasDevice;
+        copy.deviceMostSigBits = deviceMostSigBits;
+        copy.deviceLeastSigBits = deviceLeastSigBits;
+        copy.deviceName = deviceName;
+        copy.timestamp = timestamp;
+
+        copy.hasPosition = hasPosition;
+        copy.latitude = latitude;
+        copy.longitude = longitude;
+        copy.relativeAltitude = relativeAltitude;
+        copy.heading = heading;
+        copy.groundSpeed = groundSpeed;
+
+        copy.hasBattery = hasBattery;
+        copy.batteryTemperature = batteryTemperature;
+        copy.batteryVoltage = batteryVoltage;
+        copy.batteryRemaining = batteryRemaining;
+
+        copy.hasHealth = hasHealth;
+        copy.healthPresent = healthPresent;
+        copy.healthValues = healthValues;
+
+        return copy;
+    }
+
+    /** Converts the frame to the record model exposed by the API */
+    public DroneTelemetryModel toModel() {
+        return new DroneTelemetryModel(
+                hasDevice ? getDeviceUuid().toString() : null,
+                Double.isNaN(timestamp) ? null : (float) timestamp,
+                hasPosition
+                        ? new DroneTelemetryModel.Position(
+                                boxed(latitude),
+                                boxed(longitude),
+                                boxed(relativeAltitude),
+                                boxed(heading),
+                                boxed(groundSpeed))
+                        : null,
+                hasBattery
+                        ? new DroneTelemetryModel.Battery(
+                                boxed(batteryTemperature),
+                                boxed(batteryVoltage),
+                                boxed(batteryRemaining))
+                        : null,
+                hasHealth
+                        ? new DroneTelemetryModel.Health(
+                                health(GYROMETER_OK),
+                                health(ACCELEROMETER_OK),
+                                health(MAGNETOMETER_OK),
+                                health(LOCAL_POSITION_OK),
+                                health(GLOBAL_POSITION_OK),
+                                health(HOME_POSITION_OK))
+                        : null);
+    }
+
+    private static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private Boolean health(int flag) {
+        return (healthPresent & flag) == 0 ? null : (healthValues & flag) != 0;
+    }
+
+    public boolean hasDevice() {
+        return hasDevice;
+    }
+
+    public UUID getDeviceUuid() {
+        return new UUID(deviceMostSigBits, deviceLeastSigBits);
+    }
+
+    public long getDeviceMostSigBits() {
+        return deviceMostSigBits;
+    }
+
+    public long getDeviceLeastSigBits() {
+        return deviceLeastSigBits;
+    }
+
+    public String getDeviceName() {
+        return deviceName;
+    }
+
+    public double getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean hasPosition() {
+        return hasPosition;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public double getRelativeAltitude() {
+        return relativeAltitude;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    public double getGroundSpeed() {
+        return groundSpeed;
+    }
+
+    public boolean hasBattery() {
+        return hasBattery;
+    }
+
+    public double getBatteryTemperature() {
+        return batteryTemperature;
+    }
+
+    public double getBatteryVoltage() {
+        return batteryVoltage;
+    }
+
+    public double getBatteryRemaining() {
+        return batteryRemaining;
+    }
+
+    public boolean hasHealth() {
+        return hasHealth;
+    }
+
+    public int getHealthPresent() {
+        return healthPresent;
+    }
+
+    public int getHealthValues() {
+        return healthValues;
+    }
+
+    public void setDevice(long mostSigBits, long leastSigBits) {
+        this.hasDevice = true;
+        this.deviceMostSigBits = mostSigBits;
+        this.deviceLeastSigBits = leastSigBits;
+    }
+
+    public void setDeviceName(String deviceName) {
+        this.deviceName = deviceName;
+    }
+
+    public void setTimestamp(double timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public void setHasPosition(boolean hasPosition) {
+        this.hasPosition = hasPosition;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public void setRelativeAltitude(double relativeAltitude) {
+        this.relativeAltitude = relativeAltitude;
+    }
+
+    public void setHeading(double heading) {
+        this.heading = heading;
+    }
+
+    public void setGroundSpeed(double groundSpeed) {
+        this.groundSpeed = groundSpeed;
+    }
+
+    public void setHasBattery(boolean hasBattery) {
+        this.hasBattery = hasBattery;
+    }
+
+    public void setBatteryTemperature(double batteryTemperature) {
+        this.batteryTemperature = batteryTemperature;
+    }
+
+    public void setBatteryVoltage(double batteryVoltage) {
+        this.batteryVoltage = batteryVoltage;
+    }
+
+    public void setBatteryRemaining(double batteryRemaining) {
+        this.batteryRemaining = batteryRemaining;
+    }
+
+    public void setHasHealth(boolean hasHealth) {
+        this.hasHealth = hasHealth;
+    }
+
+    public void setHealth(int flag, boolean value) {
+        this.healthPresent |= flag;
+        if (value) {
+            this.healthValues |= flag;
+        } else {
+            this.healthValues &= ~flag;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.fleetcoreplatform.Models;
+
+import java.sql.Timestamp;
+
+/**
+ * Aggregate of the telemetry recorded within [from, to). Position is the mean of the samples,
+ * the other values keep their extremes so spikes survive downsampling.
+ */
+public record TelemetryHistoryBucket(
+        Timestamp from,
+        Timestamp to,
+        int samples,
+        Double latitude_deg,
+        Double longitude_deg,
+        Range relative_altitude_m,
+        Range ground_speed_ms,
+        Range battery_voltage_v,
+        Range battery_remaining_percent) {
+    public record Range(Double min, Double max, Double avg) {}
+}
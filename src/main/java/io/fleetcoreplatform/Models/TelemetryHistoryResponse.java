@@ -0,0 +1,13 @@
+package io.fleetcoreplatform.Models;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+public record TelemetryHistoryResponse(
+        UUID drone_uuid,
+        Timestamp from,
+        Timestamp to,
+        long bucket_width_ms,
+        long raw_samples,
+        List<TelemetryHistoryBucket> buckets) {}
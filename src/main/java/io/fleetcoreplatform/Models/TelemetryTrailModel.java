@@ -0,0 +1,17 @@
+package io.fleetcoreplatform.Models;
+
+import java.util.UUID;
+
+/**
+ * Recent telemetry of one drone in columnar form, the value at index i of every array belongs to
+ * the frame received at received_at[i] (epoch milliseconds). Missing values are null.
+ */
+public record TelemetryTrailModel(
+        UUID drone_uuid,
+        long[] received_at,
+        Double[] latitude_deg,
+        Double[] longitude_deg,
+        Double[] relative_altitude_m,
+        Double[] heading_deg,
+        Double[] ground_speed_ms,
+        Double[] battery_remaining_percent) {}
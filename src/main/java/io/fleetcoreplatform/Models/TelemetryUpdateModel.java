@@ -0,0 +1,6 @@
+package io.fleetcoreplatform.Models;
+
+import java.util.UUID;
+
+/** Latest telemetry of one drone, as pushed by the live telemetry streams */
+public record TelemetryUpdateModel(UUID drone_uuid, DroneTelemetryModel telemetry) {}
@@ -0,0 +1,300 @@
+package io.fleetcoreplatform.Services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fleetcoreplatform.Configs.ProvisioningConfig;
+import io.fleetcoreplatform.Managers.Database.DbModels.DbDrone;
+import io.fleetcoreplatform.Models.BulkProvisioningJobModel;
+import io.fleetcoreplatform.Models.DroneProvisioningModel;
+import io.fleetcoreplatform.Models.DroneRequestModel;
+import io.fleetcoreplatform.Models.IoTCertContainer;
+import io.fleetcoreplatform.Models.RegisteredDroneResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.jboss.logging.Logger;
+
+/**
+ * Registers or removes batches of drones in the background. All jobs share one worker pool sized by
+ * {@code provisioning.concurrency}, so the IoT control plane sees the same request rate no matter
+ * how many batches are submitted at once. Jobs live in memory and are dropped once the retention
+ * passed, together with the private keys of their certificates.
+ */
+@ApplicationScoped
+public class BulkProvisioningService {
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String SUCCEEDED = "SUCCEEDED";
+    public static final String FAILED = "FAILED";
+    public static final String COMPLETED = "COMPLETED";
+
+    public static final String REGISTRATION = "REGISTRATION";
+    public static final String DECOMMISSION = "DECOMMISSION";
+
+    @Inject CoreService coreService;
+    @Inject ProvisioningConfig provisioningConfig;
+    @Inject ObjectMapper objectMapper;
+    @Inject MeterRegistry registry;
+    @Inject Logger logger;
+
+    private final ConcurrentHashMap<UUID, Job> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        executor =
+                Executors.newFixedThreadPool(
+                        provisioningConfig.concurrency(),
+                        Thread.ofPlatform().name("bulk-provisioning-", 0).daemon().factory());
+
+        registry.gauge("drone.provisioning.bulk.jobs", jobs, ConcurrentHashMap::size);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues the registration of every drone of the batch. The requests must already be validated
+     * and their groups checked against the coordinator.
+     *
+     * @param owner Cognito sub of the coordinator, only them can read the job afterwards
+     * @return UUID of the job
+     */
+    public UUID submit(List<DroneRequestModel> requests, String owner) {
+        List<Item> items = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            items.add(new Item(i, requests.get(i).droneName(), requests.get(i), null));
+        }
+
+        return start(new Job(UUID.randomUUID(), REGISTRATION, owner, items), this::register);
+    }
+
+    /**
+     * Queues the removal of every given drone. The drones must already be checked against the
+     * coordinator.
+     *
+     * @param owner Cognito sub of the coordinator, only them can read the job afterwards
+     * @return UUID of the job
+     */
+    public UUID submitDecommission(List<DbDrone> drones, String owner) {
+        List<Item> items = new ArrayList<>(drones.size());
+        for (int i = 0; i < drones.size(); i++) {
+            items.add(new Item(i, drones.get(i).getName(), null, drones.get(i).getUuid()));
+        }
+
+        return start(new Job(UUID.randomUUID(), DECOMMISSION, owner, items), this::decommission);
+    }
+
+    private UUID start(Job job, Step step) {
+        jobs.put(job.uuid, job);
+
+        for (Item item : job.items) {
+            executor.execute(() -> run(job, item, step));
+        }
+
+        logger.infof("Queued bulk %s job %s with %d drones", job.type.toLowerCase(), job.uuid, job.items.size());
+        return job.uuid;
+    }
+
+    /**
+     * @return The progress of the job, or null if it does not exist, expired or belongs to another
+     *     coordinator
+     */
+    public BulkProvisioningJobModel getJob(UUID jobUuid, String owner) {
+        Job job = find(jobUuid, owner);
+        return job == null ? null : job.toModel();
+    }
+
+    /**
+     * Writes a zip archive holding the certificate and private key of every registered drone of the
+     * job, in one folder per drone UUID, and a manifest.json listing the drones.
+     */
+    public void writeCertificateBundle(UUID jobUuid, String owner, OutputStream output)
+            throws IOException {
+        Job job = find(jobUuid, owner);
+        if (job == null) {
+            throw new IllegalStateException("Bulk provisioning job not found " + jobUuid);
+        }
+
+        List<Map<String, Object>> manifest = new ArrayList<>();
+        ZipOutputStream zip = new ZipOutputStream(output);
+
+        for (Item item : job.items) {
+            if (item.certs == null) {
+                continue;
+            }
+
+            String folder = item.droneUuid + "/";
+            writeEntry(zip, folder + "certificate.pem.crt", item.certs.certificatePEM());
+            writeEntry(zip, folder + "private.pem.key", item.certs.privateKey());
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("index", item.index);
+            entry.put("drone_uuid", item.droneUuid);
+            entry.put("drone_name", item.droneName);
+            entry.put("certificate_arn", item.certs.certificateARN());
+            manifest.add(entry);
+        }
+
+        zip.putNextEntry(new ZipEntry("manifest.json"));
+        zip.write(objectMapper.writeValueAsBytes(manifest));
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    /** Forgets finished jobs older than the retention */
+    @Scheduled(every = "5m", delayed = "5m")
+    void expireJobs() {
+        long cutoff = System.currentTimeMillis() - provisioningConfig.jobRetention().toMillis();
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.getTime() < cutoff);
+    }
+
+    private Job find(UUID jobUuid, String owner) {
+        Job job = jobs.get(jobUuid);
+        return job == null || !job.owner.equals(owner) ? null : job;
+    }
+
+    private void run(Job job, Item item, Step step) {
+        item.status = RUNNING;
+
+        try {
+            step.run(item);
+            item.status = SUCCEEDED;
+            registry.counter("drone.provisioning.bulk", "type", job.type, "outcome", "success").increment();
+        } catch (Exception e) {
+            logger.errorf(
+                    "Bulk %s job %s failed for drone %d: %s",
+                    job.type.toLowerCase(), job.uuid, item.index, e.getMessage());
+            item.error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            item.status = FAILED;
+            registry.counter("drone.provisioning.bulk", "type", job.type, "outcome", "failure").increment();
+        } finally {
+            if (job.remaining.decrementAndGet() == 0) {
+                job.finishedAt = new Timestamp(System.currentTimeMillis());
+                logger.infof("Bulk %s job %s completed", job.type.toLowerCase(), job.uuid);
+            }
+        }
+    }
+
+    private void register(Item item) throws Exception {
+        DroneRequestModel request = item.request;
+        RegisteredDroneResponse response =
+                coreService.registerNewDrone(
+                        request.groupName(),
+                        request.droneName(),
+                        request.address(),
+                        request.agentVersion(),
+                        request.homePosition(),
+                        request.model(),
+                        request.capabilities());
+
+        item.droneUuid = UUID.fromString(response.createdDroneUuid());
+        item.certs = response.certs();
+    }
+
+    private void decommission(Item item) {
+        coreService.removeDrone(item.droneUuid);
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run(Item item) throws Exception;
+    }
+
+    private static void writeEntry(ZipOutputStream zip, String name, String content)
+            throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static final class Job {
+        private final UUID uuid;
+        private final String type;
+        private final String owner;
+        private final Timestamp createdAt = new Timestamp(System.currentTimeMillis());
+        private final List<Item> items;
+        private final AtomicInteger remaining;
+        private volatile Timestamp finishedAt;
+
+        Job(UUID uuid, String type, String owner, List<Item> items) {
+            this.uuid = uuid;
+            this.type = type;
+            this.owner = owner;
+            this.items = items;
+            this.remaining = new AtomicInteger(items.size());
+            this.finishedAt = items.isEmpty() ? createdAt : null;
+        }
+
+        BulkProvisioningJobModel toModel() {
+            List<DroneProvisioningModel> drones = new ArrayList<>(items.size());
+            int succeeded = 0;
+            int failed = 0;
+
+            for (Item item : items) {
+                String status = item.status;
+                if (SUCCEEDED.equals(status)) {
+                    succeeded++;
+                } else if (FAILED.equals(status)) {
+                    failed++;
+                }
+
+                drones.add(
+                        new DroneProvisioningModel(
+                                item.index,
+                                item.droneName,
+                                status,
+                                item.droneUuid,
+                                item.error));
+            }
+
+            return new BulkProvisioningJobModel(
+                    uuid,
+                    type,
+                    finishedAt == null ? RUNNING : COMPLETED,
+                    createdAt,
+                    finishedAt,
+                    items.size(),
+                    succeeded,
+                    failed,
+                    drones);
+        }
+    }
+
+    private static final class Item {
+        private final int index;
+        private final String droneName;
+        /** Registration details, null for a removal */
+        private final DroneRequestModel request;
+        private volatile String status = PENDING;
+        private volatile UUID droneUuid;
+        private volatile IoTCertContainer certs;
+        private volatile String error;
+
+        Item(int index, String droneName, DroneRequestModel request, UUID droneUuid) {
+            this.index = index;
+            this.droneName = droneName;
+            this.request = request;
+            this.droneUuid = droneUuid;
+        }
+    }
+}
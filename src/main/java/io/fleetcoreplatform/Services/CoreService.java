@@ -1,6 +1,7 @@
 package io.fleetcoreplatform.Services;
 
 import io.fleetcoreplatform.Configs.ApplicationConfig;
+import io.fleetcoreplatform.Configs.MissionConfig;
 import io.fleetcoreplatform.Exceptions.*;
 import io.fleetcoreplatform.Managers.IoTCore.Enums.MissionDocumentEnums;
 import io.fleetcoreplatform.Managers.Kinesis.KinesisVideoManager;
@@ -13,23 +14,32 @@ import io.fleetcoreplatform.Managers.IoTCore.IotManager;
 import io.fleetcoreplatform.Managers.S3.StorageManager;
 import io.fleetcoreplatform.MissionPlanner;
 import io.fleetcoreplatform.Models.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.runtime.Startup;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
 import java.io.File;
-import java.io.IOException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.ibatis.session.ResultHandler;
 
 import org.jboss.logging.Logger;
 import org.postgis.Geometry;
 import software.amazon.awssdk.services.iot.model.CertificateStatus;
 import software.amazon.awssdk.services.iot.model.Job;
+import software.amazon.awssdk.services.iot.model.JobExecutionStatus;
 import software.amazon.awssdk.services.iot.model.JobExecutionSummary;
+import software.amazon.awssdk.services.iot.model.ResourceAlreadyExistsException;
+import software.amazon.awssdk.services.iot.model.ResourceNotFoundException;
 
 @Startup
 @ApplicationScoped
@@ -39,14 +49,29 @@ public class CoreService {
     @Inject StorageManager storageManager;
     @Inject CognitoManager cognitoManager;
     @Inject ApplicationConfig config;
+    @Inject MissionConfig missionConfig;
     @Inject DroneMapper droneMapper;
     @Inject GroupMapper groupMapper;
     @Inject OutpostMapper outpostMapper;
     @Inject MissionMapper missionMapper;
+    @Inject MissionExecutionMapper missionExecutionMapper;
+    @Inject TelemetryHistoryMapper telemetryHistoryMapper;
     @Inject CoordinatorMapper coordinatorMapper;
     @Inject KinesisVideoManager kinesisVideoManager;
+    @Inject ProvisioningPool provisioningPool;
+    @Inject MissionStatusCache missionStatusCache;
+    @Inject TelemetryTrailStore telemetryTrailStore;
+    @Inject DronePositionIndex dronePositionIndex;
+    @Inject TelemetryStateStore telemetryStateStore;
+    @Inject DroneConnectivityTracker droneConnectivityTracker;
+    @Inject DroneOwnershipCache droneOwnershipCache;
+    @Inject DroneNameCache droneNameCache;
+    @Inject MeterRegistry registry;
     @Inject Logger logger;
 
+    private static final int REMOVAL_ATTEMPTS = 5;
+    private static final long REMOVAL_RETRY_DELAY_MILLIS = 2000;
+
     /**
      * Groups multiple manager operations to register a new drone in IoT Core, and RDS
      *
@@ -70,47 +95,156 @@ public class CoreService {
             throw new NotFoundException("Group not found with name " + group);
         }
 
-        UUID uuid = UUID.randomUUID();
-        String thingNameUuid = uuid.toString();
-
         var attributes = iotManager.getGroupAttributes(group.toString());
 
         if (attributes == null || attributes.get("outpost") == null) {
             throw new GroupHasNoOutpostException("Target group has no outpost attribute");
         }
 
-        var createdCheck = kinesisVideoManager.createSignalingChannel(uuid);
-        if (createdCheck == null) {
-            throw new KinesisCannotCreateChannelException("Cannot create kinesis video signaling channel for drone");
-        }
+        // A pooled signaling channel is already named with a fresh UUID, which the drone adopts
+        UUID pooledChannel = provisioningPool.claimChannel();
+        IoTCertContainer pooledCertificate = provisioningPool.claimCertificate();
+
+        UUID uuid = pooledChannel != null ? pooledChannel : UUID.randomUUID();
+        String thingNameUuid = uuid.toString();
+
+        String groupARN = iotManager.getGroupARN(group.toString());
+        Timer.Sample registration = Timer.start(registry);
+
+        // The signaling channel, the certificate, the thing and the policy do not depend on each
+        // other, only the attach steps wait for both of their inputs. Channel and certificate come
+        // from the warm pool when it has entries left.
+        CompletableFuture<UUID> channel = pooledChannel != null
+                ? CompletableFuture.completedFuture(uuid)
+                : timedStage("signaling_channel", () -> kinesisVideoManager.createSignalingChannelAsync(uuid));
+        CompletableFuture<IoTCertContainer> certificate = pooledCertificate != null
+                ? CompletableFuture.completedFuture(pooledCertificate)
+                : timedStage("create_certificate", iotManager::generateCertificateAsync);
+        CompletableFuture<Void> thing =
+                timedStage("create_thing", () -> iotManager.createThingAsync(thingNameUuid, attributes.get("outpost"), group.toString()));
+        CompletableFuture<String> policy =
+                timedStage("fleet_policy", iotManager::getFleetPolicyAsync);
+
+        CompletableFuture<Void> activated =
+                certificate.thenCompose(cert -> timedStage("activate_certificate",
+                        () -> iotManager.updateCertificateAsync(cert.certificateARN(), CertificateStatus.ACTIVE)));
+        CompletableFuture<Void> policyAttached =
+                CompletableFuture.allOf(certificate, policy).thenCompose(ignored -> timedStage("attach_policy",
+                        () -> iotManager.attachPolicyToCertificateAsync(certificate.join().certificateARN(), policy.join())));
+        CompletableFuture<Void> certificateAttached =
+                CompletableFuture.allOf(certificate, thing).thenCompose(ignored -> timedStage("attach_certificate",
+                        () -> iotManager.attachCertificateAsync(thingNameUuid, certificate.join().certificateARN())));
+        CompletableFuture<Void> groupAdded =
+                thing.thenCompose(ignored -> timedStage("add_to_group",
+                        () -> iotManager.addDeviceToGroupAsync(thingNameUuid, groupARN)));
+
+        RegistrationStages stages = new RegistrationStages(
+                channel, certificate, thing, policy, activated, policyAttached, certificateAttached, groupAdded);
 
-        IoTCertContainer certContainer = iotManager.generateCertificate();
         try {
-            iotManager.updateCertificate(certContainer.certificateARN(), CertificateStatus.ACTIVE);
-        } catch (CompletionException ex) {
-            throw new CannotUpdateCertificate(ex.getMessage());
+            // allOf only completes once every stage has settled, so rollback sees the final state
+            CompletableFuture.allOf(
+                    channel, certificate, thing, policy, activated, policyAttached, certificateAttached, groupAdded)
+                    .join();
+
+            // Signaling channel name (UUID) is same as the thing name (UUID) so the drone know to access its "own" signaling channel
+            Timer.Sample insert = Timer.start(registry);
+            droneMapper.insertDrone(
+                    uuid, droneName, dbGroup.getUuid(), address, agentVersion, new Timestamp(System.currentTimeMillis()), homePosition, model, capabilities, uuid);
+            droneNameCache.invalidateAll();
+            insert.stop(registry.timer("drone.registration.stage", "stage", "database", "outcome", "success"));
+        } catch (Exception e) {
+            logger.errorf("Registration of drone %s failed, rolling back: %s", thingNameUuid, e.getMessage());
+            rollbackRegistration(uuid, stages);
+            registration.stop(registry.timer("drone.registration", "outcome", "failure"));
+
+            if (channel.isCompletedExceptionally()) {
+                throw new KinesisCannotCreateChannelException("Cannot create kinesis video signaling channel for drone");
+            }
+            if (activated.isCompletedExceptionally() && !certificate.isCompletedExceptionally()) {
+                throw new CannotUpdateCertificate(e.getMessage());
+            }
+
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause);
         }
 
-        iotManager.createThing(thingNameUuid, attributes.get("outpost"), group.toString());
-        String policyName = iotManager.createPolicy(thingNameUuid);
+        registration.stop(registry.timer("drone.registration", "outcome", "success"));
 
+        return new RegisteredDroneResponse(thingNameUuid, certificate.join());
+    }
 
-        iotManager.attachPolicyToCertificate(certContainer.certificateARN(), policyName);
+    private record RegistrationStages(
+            CompletableFuture<UUID> channel,
+            CompletableFuture<IoTCertContainer> certificate,
+            CompletableFuture<Void> thing,
+            CompletableFuture<String> policy,
+            CompletableFuture<Void> activated,
+            CompletableFuture<Void> policyAttached,
+            CompletableFuture<Void> certificateAttached,
+            CompletableFuture<Void> groupAdded) {}
+
+    /** Runs one registration step and records its duration per stage and outcome */
+    private <T> CompletableFuture<T> timedStage(String stage, Supplier<CompletableFuture<T>> step) {
+        Timer.Sample sample = Timer.start(registry);
+
+        CompletableFuture<T> future;
+        try {
+            future = step.get();
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
 
-        iotManager.attachCertificate(thingNameUuid, certContainer.certificateARN());
+        return future.whenComplete(
+                (result, ex) ->
+                        sample.stop(registry.timer(
+                                "drone.registration.stage",
+                                "stage", stage,
+                                "outcome", ex == null ? "success" : "failure")));
+    }
 
-        String groupARN = iotManager.getGroupARN(group.toString());
-        iotManager.addDeviceToGroup(thingNameUuid, groupARN);
+    /**
+     * Undoes every registration step that completed, best effort. Principals are detached before
+     * the thing and the certificate are deleted, deleting the thing also drops its group membership.
+     */
+    private void rollbackRegistration(UUID droneUuid, RegistrationStages stages) {
+        String thingName = droneUuid.toString();
+        String certificateARN = succeeded(stages.certificate()) ? stages.certificate().join().certificateARN() : null;
 
+        CompletableFuture<Void> detached = succeeded(stages.certificateAttached())
+                ? iotManager.detachCertificateAsync(thingName, certificateARN).exceptionally(ex -> null)
+                : CompletableFuture.completedFuture(null);
 
-        UUID groupUUID = dbGroup.getUuid();
-        Timestamp addedDate = new Timestamp(System.currentTimeMillis());
+        List<CompletableFuture<Void>> compensations = new ArrayList<>();
+        if (succeeded(stages.channel())) {
+            compensations.add(kinesisVideoManager.deleteSignalingChannelAsync(droneUuid));
+        }
+        if (succeeded(stages.thing())) {
+            compensations.add(detached.thenCompose(ignored -> iotManager.removeThingAsync(thingName)));
+        }
+        if (succeeded(stages.policyAttached())) {
+            // The fleet policy is shared, only this certificate lets go of it
+            compensations.add(iotManager.detachPolicyAsync(stages.policy().join(), certificateARN));
+        }
+        if (certificateARN != null) {
+            compensations.add(detached.thenCompose(ignored -> iotManager.deleteCertificateAsync(certificateARN)));
+        }
 
-        // Signaling channel name (UUID) is same as the thing name (UUID) so the drone know to access its "own" signaling channel
-        droneMapper.insertDrone(
-                uuid, droneName, groupUUID, address, agentVersion, addedDate, homePosition, model, capabilities, uuid);
+        CompletableFuture.allOf(
+                        compensations.stream()
+                                .map(compensation -> compensation.exceptionally(ex -> {
+                                    logger.errorf("Rollback step for drone %s failed: %s", thingName, ex.getMessage());
+                                    return null;
+                                }))
+                                .toArray(CompletableFuture[]::new))
+                .join();
+    }
 
-        return new RegisteredDroneResponse(thingNameUuid, certContainer);
+    private static boolean succeeded(CompletableFuture<?> future) {
+        return future.isDone() && !future.isCompletedExceptionally();
     }
 
     public void updateDrone(UUID droneUuid, UpdateDroneModel data) throws NotFoundException {
@@ -137,31 +271,127 @@ public class CoreService {
         }
 
         droneMapper.updateDrone(droneUuid, drone);
+        droneNameCache.invalidateAll();
+    }
+
+    /**
+     * Streams the recorded telemetry of a drone within [from, to) into the handler. PgJDBC only
+     * honours the fetch size of {@link TelemetryHistoryMapper#streamRange} inside a transaction,
+     * under autocommit it would load the whole range at once.
+     */
+    @Transactional
+    public void streamTelemetryHistory(UUID droneUuid, Timestamp from, Timestamp to, ResultHandler<DbTelemetryHistory> handler) {
+        telemetryHistoryMapper.streamRange(droneUuid, from, to, handler);
     }
 
     public void removeDrone(UUID droneUuid) throws NotFoundException {
+        try {
+            removeDroneAsync(droneUuid).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Retires a drone from IoT Core, Kinesis and the database. The certificates of the thing are
+     * released concurrently and the signaling channel is deleted alongside. The database row is
+     * only deleted once IoT Core and Kinesis are clean, so a failed removal can simply be retried,
+     * resources already gone are skipped.
+     *
+     * @throws NotFoundException If the drone does not exist
+     */
+    public CompletableFuture<Void> removeDroneAsync(UUID droneUuid) throws NotFoundException {
         DbDrone dbDrone = droneMapper.findByUuid(droneUuid);
         if (dbDrone == null) {
             throw new NotFoundException("Drone not found with UUID " + droneUuid);
         }
 
         String thingName = dbDrone.getUuid().toString();
+        Timer.Sample removal = Timer.start(registry);
+
+        // A failure keeps the drone row, so the removal can be retried instead of leaking the channel
+        CompletableFuture<Void> channel =
+                withRetry(() -> ignoreNotFound(kinesisVideoManager.deleteSignalingChannelAsync(droneUuid), null));
+
+        // Deleting the thing also drops its group membership
+        CompletableFuture<Void> thing =
+                ignoreNotFound(iotManager.listThingPrincipalsAsync(thingName), List.<String>of())
+                        .thenCompose(principals -> CompletableFuture.allOf(
+                                principals.stream()
+                                        .map(certificateARN -> releaseCertificate(thingName, certificateARN))
+                                        .toArray(CompletableFuture[]::new)))
+                        .thenCompose(ignored -> withRetry(() -> ignoreNotFound(iotManager.removeThingAsync(thingName), null)));
+
+        return CompletableFuture.allOf(thing, channel)
+                .thenRun(() -> {
+                    droneMapper.deleteDrone(droneUuid);
+                    forgetDrone(droneUuid);
+                })
+                .whenComplete((ignored, ex) -> {
+                    if (ex != null) {
+                        logger.errorf("Removal of drone %s failed: %s", thingName, ex.getMessage());
+                    }
+                    removal.stop(registry.timer("drone.removal", "outcome", ex == null ? "success" : "failure"));
+                });
+    }
+
+    /** Drops the in-memory telemetry state kept for a removed drone */
+    private void forgetDrone(UUID droneUuid) {
+        telemetryTrailStore.remove(droneUuid);
+        dronePositionIndex.remove(droneUuid);
+        telemetryStateStore.remove(droneUuid);
+        droneConnectivityTracker.remove(droneUuid);
+        // The owner is not known here and removals are rare
+        droneOwnershipCache.invalidateAll();
+        droneNameCache.invalidateAll();
+    }
 
-        iotManager.detachCertificates(thingName);
-        iotManager.deleteCertificates(thingName);
+    /**
+     * Detaches the certificate from the thing and deletes it. A per-thing policy left from before
+     * the fleet policy is deleted as well, the fleet policy itself stays.
+     */
+    private CompletableFuture<Void> releaseCertificate(String thingName, String certificateARN) {
+        String legacyPolicy = IotManager.legacyPolicyName(thingName);
+
+        CompletableFuture<Void> policies =
+                iotManager.listAttachedPoliciesAsync(certificateARN)
+                        .thenCompose(names -> names.contains(legacyPolicy)
+                                ? iotManager.deletePolicyAsync(legacyPolicy, certificateARN)
+                                : CompletableFuture.completedFuture(null));
+        CompletableFuture<Void> detached = iotManager.detachCertificateAsync(thingName, certificateARN);
+
+        // Only the delete is retried, once detached the certificate is no longer listed on the thing
+        return CompletableFuture.allOf(policies, detached)
+                .thenCompose(ignored -> withRetry(() -> ignoreNotFound(iotManager.deleteCertificateAsync(certificateARN), null)));
+    }
 
-        String groupARN = iotManager.getThingGroup(thingName);
+    private static <T> CompletableFuture<T> ignoreNotFound(CompletableFuture<T> future, T fallback) {
+        return future.exceptionallyCompose(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            return cause instanceof ResourceNotFoundException
+                            || cause instanceof software.amazon.awssdk.services.kinesisvideo.model.ResourceNotFoundException
+                    ? CompletableFuture.completedFuture(fallback)
+                    : CompletableFuture.failedFuture(cause);
+        });
+    }
 
-        if (groupARN != null) {
-            iotManager.removeThingFromGroup(thingName, groupARN);
-        } else {
-            System.err.printf("%s not in a group!", thingName);
-        }
+    /**
+     * Detaching a principal propagates asynchronously in IoT Core, deleting the certificate or the
+     * thing right after may be refused while it is still seen as attached
+     */
+    private <T> CompletableFuture<T> withRetry(Supplier<CompletableFuture<T>> step) {
+        CompletableFuture<T> result = step.get();
 
-        iotManager.removeThing(thingName);
-        droneMapper.deleteDrone(droneUuid);
+        for (int attempt = 1; attempt < REMOVAL_ATTEMPTS; attempt++) {
+            result = result.exceptionallyComposeAsync(
+                    ex -> step.get(),
+                    CompletableFuture.delayedExecutor(REMOVAL_RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+        }
 
-        kinesisVideoManager.deleteSignalingChannel(droneUuid);
+        return result;
     }
 
     public void removeDroneFromGroup(UUID droneUUID) throws NotFoundException {
@@ -264,17 +494,17 @@ public class CoreService {
     }
 
     /**
-     * Coordinates multiple managers to create an IoT Core mission for a group of drones
+     * Validates a mission for a group of drones and resolves everything its creation needs. The
+     * bundle is built and the IoT job created later by {@link MissionCreationService}.
      *
      * @param outpostUuid The UUID of the outpost the groups is in
      * @param groupUUID UUID of the group
      * @param coordinatorUUID The UUID of the coordinator performing this operation
-     * @throws IOException If there was an error generating the mission bundle
      * @throws NotFoundException If the outpost, or group doesn't exist
      */
-    public UUID createGroupMission(
+    public MissionDraft prepareGroupMission(
             UUID outpostUuid, UUID groupUUID, List<UUID> droneUuids, UUID coordinatorUUID, Integer altitude, String jobName, String scheduled)
-            throws IOException, NotFoundException {
+            throws NotFoundException {
         DbGroup dbgroup = groupMapper.findByUuid(groupUUID);
         if (dbgroup == null) {
             throw new NotFoundException("Group not found with UUID " + groupUUID.toString());
@@ -285,6 +515,50 @@ public class CoreService {
             throw new NotFoundException("Outpost cannot be found with name " + outpostUuid);
         }
 
+        return draftGroupMission(dbOutpost, dbOutpost.getArea().toGeometry(), dbgroup, droneUuids, coordinatorUUID, altitude, jobName, scheduled);
+    }
+
+    /**
+     * Validates a mission for every group of an outpost, each group gets its own mission and IoT
+     * job. The outpost and its area are read once for all groups, groups without an available
+     * drone are left out.
+     *
+     * @param sub Cognito sub of the coordinator, only their groups are included
+     * @throws NotFoundException If the outpost doesn't exist or none of its groups has an
+     *     available drone
+     */
+    public List<MissionDraft> prepareOutpostMission(
+            UUID outpostUuid, UUID coordinatorUUID, String sub, Integer altitude, String jobName, String scheduled)
+            throws NotFoundException {
+        DbOutpost dbOutpost = outpostMapper.findByUuid(outpostUuid);
+        if (dbOutpost == null) {
+            throw new NotFoundException("Outpost cannot be found with name " + outpostUuid);
+        }
+
+        Geometry area = dbOutpost.getArea().toGeometry();
+
+        List<MissionDraft> drafts = new ArrayList<>();
+        for (DbGroup dbgroup : groupMapper.listGroupsByOutpostUuidAndCoordinator(outpostUuid, sub)) {
+            try {
+                drafts.add(draftGroupMission(dbOutpost, area, dbgroup, null, coordinatorUUID, altitude, jobName, scheduled));
+            } catch (NotFoundException e) {
+                logger.debugf("Group %s has no available drone, left out of outpost mission", dbgroup.getUuid());
+            }
+        }
+
+        if (drafts.isEmpty()) {
+            throw new NotFoundException("No available drones found in outpost " + outpostUuid);
+        }
+
+        return drafts;
+    }
+
+    private MissionDraft draftGroupMission(
+            DbOutpost dbOutpost, Geometry area, DbGroup dbgroup, List<UUID> droneUuids, UUID coordinatorUUID, Integer altitude, String jobName, String scheduled)
+            throws NotFoundException {
+        UUID outpostUuid = dbOutpost.getUuid();
+        UUID groupUUID = dbgroup.getUuid();
+
         UUID missionUuid = UUID.randomUUID();
 
         String group = dbgroup.getName();
@@ -300,8 +574,6 @@ public class CoreService {
 
         String outpostName = dbOutpost.getName();
 
-        Geometry area = dbOutpost.getArea().toGeometry();
-
         List<DbDrone> allDrones = droneMapper.listNoMaintenanceDronesByGroupUuid(groupUUID, 100);
 
         List<DbDrone> selectedDrones = (droneUuids == null || droneUuids.isEmpty())
@@ -327,58 +599,29 @@ public class CoreService {
                                                                 .z())
                                                 + 25));
 
-        File missionBundle =
-                MissionPlanner.buildMission(
-                        area, droneIdentities.toArray(new DroneIdentity[0]), missionAltitude);
-        String key = storageManager.uploadMissionBundle(missionPath, missionBundle);
-
-        String downloadUrl = storageManager.getPresignedObjectUrl(key, 30);
-
-        String groupARN = iotManager.getGroupARN(dbgroup.getUuid().toString());
-
-        String iotMissionName = missionUuid.toString();
-
-        if (droneUuids == null || droneUuids.isEmpty()) {
-            // Create 'Download-File' mission -> download mission file from url and execute mission from it
-            iotManager.createIoTJob(
-                    new GroupTarget(groupARN),
-                    MissionDocumentEnums.DOWNLOAD,
-                    iotMissionName,
-                    downloadUrl,
-                    "/tmp/missions/",
-                    outpostName,
-                    dbgroup.getUuid().toString(),
-                    config.s3().bucketName(),
-                    scheduled);
-        } else {
-            List<String> targetArns = selectedDrones.stream().map(d -> iotManager.getThingARN(d.getUuid().toString())).toList();
-            iotManager.createIoTJob(
-                    targetArns,
-                    MissionDocumentEnums.DOWNLOAD,
-                    iotMissionName,
-                    downloadUrl,
-                    "/tmp/missions/",
-                    outpostName,
-                    dbgroup.getUuid().toString(),
-                    config.s3().bucketName(),
-                    scheduled);
-        }
-
-        String bundleUrl = storageManager.getInternalObjectUrl(key);
-
-        missionMapper.insert(
-                missionUuid, groupUUID, jobName, bundleUrl, startedAt, coordinatorUUID);
-
-        for (DbDrone drone : selectedDrones) {
-            missionMapper.insertMissionDrone(missionUuid, drone.getUuid());
-        }
-
-        return missionUuid;
+        return new MissionDraft(
+                missionUuid,
+                groupUUID,
+                coordinatorUUID,
+                jobName,
+                scheduled,
+                missionPath,
+                outpostName,
+                startedAt,
+                selectedDrones.stream().map(DbDrone::getUuid).toList(),
+                droneUuids == null || droneUuids.isEmpty(),
+                MissionBundleCache.hash(area, selectedDrones, missionAltitude),
+                () -> MissionPlanner.buildMission(area, droneIdentities.toArray(new DroneIdentity[0]), missionAltitude));
     }
 
-    public UUID createSoloMission(
+    /**
+     * Validates a manual mission for a single drone, see {@link #prepareGroupMission}
+     *
+     * @throws NotFoundException If the drone doesn't exist
+     */
+    public MissionDraft prepareSoloMission(
             PolygonPoint2D[] waypoints, UUID droneUuid, UUID coordinatorUUID, Integer altitude, String jobName, int speed, boolean returnToLaunch, String scheduled)
-            throws IOException, NotFoundException {
+            throws NotFoundException {
         DbDrone dbDrone = droneMapper.findByUuid(droneUuid);
         if (dbDrone == null) {
             throw new NotFoundException("Drone not found with UUID " + droneUuid.toString());
@@ -400,33 +643,119 @@ public class CoreService {
 
         DroneIdentity droneIdentity = getDroneIdentity(droneUuid);
 
-        File missionBundle = MissionPlanner.buildManualMission(waypoints, droneIdentity, missionAltitude, speed, returnToLaunch);
-        String key = storageManager.uploadMissionBundle(missionPath, missionBundle);
-        String downloadUrl = storageManager.getPresignedObjectUrl(key, 30);
-        String droneARN = iotManager.getThingARN(thingName);
-        String iotMissionName = missionUuid.toString();
-
         DbGroup dbGroup = groupMapper.findByUuid(dbDrone.getGroup_uuid());
         DbOutpost dbOutpost = outpostMapper.findByUuid(dbGroup.getOutpost_uuid());
 
-        iotManager.createIoTJob(
-                new DroneTarget(droneARN),
-                MissionDocumentEnums.DOWNLOAD,
-                iotMissionName,
-                downloadUrl,
-                "/tmp/missions/",
+        return new MissionDraft(
+                missionUuid,
+                null,
+                coordinatorUUID,
+                jobName,
+                scheduled,
+                missionPath,
                 dbOutpost.getName(),
-                config.s3().bucketName(),
-                scheduled
-        );
+                startedAt,
+                List.of(droneUuid),
+                false,
+                null,
+                () -> MissionPlanner.buildManualMission(waypoints, droneIdentity, missionAltitude, speed, returnToLaunch));
+    }
+
+    /**
+     * Uploads the mission bundle to S3, the local file is deleted by the upload whatever its outcome
+     *
+     * @return The key of the bundle
+     */
+    public String uploadMissionBundle(MissionDraft draft, File missionBundle) {
+        String key = storageManager.uploadMissionBundle(draft.missionPath(), missionBundle);
+        if (key == null) {
+            throw new IllegalStateException("Cannot upload mission bundle " + draft.missionPath());
+        }
+
+        return key;
+    }
+
+    /**
+     * Creates the IoT job of the mission. A job already created by an earlier attempt is kept, its
+     * ID is the mission UUID.
+     */
+    public void dispatchMission(MissionDraft draft, String bundleKey) {
+        String downloadUrl = storageManager.getPresignedObjectUrl(bundleKey, 30);
+
+        String iotMissionName = draft.missionUuid().toString();
+
+        try {
+            if (draft.groupUuid() == null) {
+                iotManager.createIoTJob(
+                        new DroneTarget(iotManager.getThingARN(draft.droneUuids().get(0).toString())),
+                        MissionDocumentEnums.DOWNLOAD,
+                        iotMissionName,
+                        downloadUrl,
+                        "/tmp/missions/",
+                        draft.outpostName(),
+                        config.s3().bucketName(),
+                        draft.scheduled());
+            } else if (draft.wholeGroup()) {
+                // Create 'Download-File' mission -> download mission file from url and execute mission from it
+                iotManager.createIoTJob(
+                        new GroupTarget(iotManager.getGroupARN(draft.groupUuid().toString())),
+                        MissionDocumentEnums.DOWNLOAD,
+                        iotMissionName,
+                        downloadUrl,
+                        "/tmp/missions/",
+                        draft.outpostName(),
+                        draft.groupUuid().toString(),
+                        config.s3().bucketName(),
+                        draft.scheduled());
+            } else {
+                List<String> targetArns = draft.droneUuids().stream().map(d -> iotManager.getThingARN(d.toString())).toList();
+                iotManager.createIoTJob(
+                        targetArns,
+                        MissionDocumentEnums.DOWNLOAD,
+                        iotMissionName,
+                        downloadUrl,
+                        "/tmp/missions/",
+                        draft.outpostName(),
+                        draft.groupUuid().toString(),
+                        config.s3().bucketName(),
+                        draft.scheduled());
+            }
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof ResourceAlreadyExistsException)) {
+                throw e;
+            }
+        }
+
+        missionStatusCache.refresh(draft.missionUuid());
+    }
 
-        String bundleUrl = storageManager.getInternalObjectUrl(key);
+    /**
+     * Records the mission and its drones in one transaction, a mission recorded by an earlier
+     * attempt is complete and kept
+     */
+    @Transactional
+    public void recordMission(MissionDraft draft, String bundleKey) {
+        if (missionMapper.findById(draft.missionUuid()) != null) {
+            return;
+        }
+
+        String bundleUrl = storageManager.getInternalObjectUrl(bundleKey);
 
         missionMapper.insert(
-                missionUuid, null, jobName, bundleUrl, startedAt, coordinatorUUID);
-        missionMapper.insertMissionDrone(missionUuid, droneUuid);
+                draft.missionUuid(), draft.groupUuid(), draft.jobName(), bundleUrl, draft.startedAt(), draft.coordinatorUuid());
 
-        return missionUuid;
+        for (UUID droneUuid : draft.droneUuids()) {
+            missionMapper.insertMissionDrone(draft.missionUuid(), droneUuid);
+        }
+    }
+
+    /**
+     * Cancels the IoT job of a mission that was dispatched but could not be recorded, so no drone
+     * flies a mission the server does not know about. A job that does not exist is fine.
+     */
+    public void abandonMission(MissionDraft draft) {
+        ignoreNotFound(iotManager.cancelJobAsync(draft.missionUuid().toString(), "Mission could not be recorded"), null).join();
+        missionStatusCache.refresh(draft.missionUuid());
     }
 
     public void cancelJob(MissionCancellationContext context) {
@@ -475,6 +804,8 @@ public class CoreService {
         } else {
             throw new IllegalStateException("Mission context contains neither a group nor a drone target.");
         }
+
+        missionStatusCache.refresh(context.missionUuid());
     }
 
     private ArrayList<DroneIdentity> getDroneIdentities(
@@ -523,15 +854,24 @@ public class CoreService {
             throw new NotFoundException("Drone not found with UUID " + droneUuid.toString());
         }
 
+        if (missionConfig.events().enabled()) {
+            DbMissionExecution execution = missionExecutionMapper.find(missionUuid, droneUuid);
+            if (execution != null) {
+                return new DroneExecutionStatusResponseModel(
+                        droneUuid, JobExecutionStatus.fromValue(execution.getStatus()), execution.getUpdated_at(), execution.getUpdated_at());
+            }
+        }
+
         String thingName = drone.getUuid().toString();
 
-        JobExecutionSummary executionSummary = iotManager.getThingJob(thingName, mission.getName());
+        MissionStatusCache.Snapshot snapshot = missionStatusCache.get(mission.getUuid());
+        JobExecutionSummary executionSummary = snapshot.executions().get(thingName);
         if (executionSummary == null) {
             return null;
         }
 
         return new DroneExecutionStatusResponseModel(
-                droneUuid, executionSummary.status(), Timestamp.from(executionSummary.lastUpdatedAt()));
+                droneUuid, executionSummary.status(), Timestamp.from(executionSummary.lastUpdatedAt()), snapshot.refreshedAt());
     }
 
     public MissionExecutionStatusModel getMissionStatus(UUID missionUuid, String sub)
@@ -541,9 +881,98 @@ public class CoreService {
             throw new NotFoundException("Mission not found with UUID " + missionUuid.toString());
         }
 
-        Job job = iotManager.getJob(mission.getUuid().toString());
+        MissionStatusCache.Snapshot snapshot = missionStatusCache.get(mission.getUuid());
+        Job job = snapshot.job();
+        if (job == null) {
+            return null;
+        }
+
+        return new MissionExecutionStatusModel(job.status(), mission.getStart_time(), job.completedAt() != null ? Timestamp.from(job.completedAt()) : null, job.schedulingConfig() != null ? job.schedulingConfig().startTime() : null, snapshot.refreshedAt());
+    }
+
+    /**
+     * Per-drone execution status of a mission, built from the drones recorded for the mission and
+     * the executions held by {@link MissionStatusCache}. When job events are consumed, a status
+     * recorded in mission_executions wins over an older one of the cache.
+     *
+     * @throws NotFoundException If the mission does not exist or belongs to another coordinator
+     */
+    public MissionExecutionsModel getMissionExecutions(UUID missionUuid, String sub)
+            throws NotFoundException {
+        DbMission mission = missionMapper.findByIdAndCoordinator(missionUuid, sub);
+        if (mission == null) {
+            throw new NotFoundException("Mission not found with UUID " + missionUuid.toString());
+        }
+
+        MissionStatusCache.Snapshot snapshot = missionStatusCache.get(missionUuid);
+        Map<String, JobExecutionSummary> remaining = new HashMap<>(snapshot.executions());
+        List<DroneExecutionModel> executions = new ArrayList<>();
+
+        Map<UUID, DbMissionExecution> recorded = new HashMap<>();
+        if (missionConfig.events().enabled()) {
+            for (DbMissionExecution execution : missionExecutionMapper.listByMission(missionUuid)) {
+                recorded.put(execution.getDrone_uuid(), execution);
+            }
+        }
+
+        for (DbMissionDrone drone : missionMapper.listMissionDrones(missionUuid)) {
+            JobExecutionSummary execution = remaining.remove(drone.getDrone_uuid().toString());
+            executions.add(toDroneExecution(drone.getDrone_uuid(), drone.getDrone_name(), execution, recorded.get(drone.getDrone_uuid())));
+        }
+        // Executions of drones the mission table does not list, the job remains the reference
+        for (Map.Entry<String, JobExecutionSummary> execution : remaining.entrySet()) {
+            UUID droneUuid;
+            try {
+                droneUuid = UUID.fromString(execution.getKey());
+            } catch (IllegalArgumentException e) {
+                logger.warnf("Skipping execution of mission %s on thing %s, not a drone UUID", missionUuid, execution.getKey());
+                continue;
+            }
+            executions.add(toDroneExecution(droneUuid, null, execution.getValue(), recorded.get(droneUuid)));
+        }
+
+        Map<JobExecutionStatus, Integer> counts = new EnumMap<>(JobExecutionStatus.class);
+        for (DroneExecutionModel execution : executions) {
+            if (execution.status() != null) {
+                counts.merge(execution.status(), 1, Integer::sum);
+            }
+        }
+
+        return new MissionExecutionsModel(
+                missionUuid,
+                snapshot.job() != null ? snapshot.job().status() : null,
+                counts,
+                executions,
+                snapshot.refreshedAt());
+    }
 
-        return new MissionExecutionStatusModel(job.status(), mission.getStart_time(), job.completedAt() != null ? Timestamp.from(job.completedAt()) : null, job.schedulingConfig().startTime() != null ? job.schedulingConfig().startTime() : null);
+    private static DroneExecutionModel toDroneExecution(
+            UUID droneUuid, String droneName, JobExecutionSummary execution, DbMissionExecution recorded) {
+        if (recorded != null
+                && (execution == null
+                        || execution.lastUpdatedAt() == null
+                        || !recorded.getUpdated_at().toInstant().isBefore(execution.lastUpdatedAt()))) {
+            return new DroneExecutionModel(
+                    droneUuid,
+                    droneName,
+                    JobExecutionStatus.fromValue(recorded.getStatus()),
+                    execution != null ? execution.executionNumber() : null,
+                    execution != null && execution.queuedAt() != null ? Timestamp.from(execution.queuedAt()) : null,
+                    execution != null && execution.startedAt() != null ? Timestamp.from(execution.startedAt()) : null,
+                    recorded.getUpdated_at());
+        }
+        if (execution == null) {
+            return new DroneExecutionModel(droneUuid, droneName, null, null, null, null, null);
+        }
+
+        return new DroneExecutionModel(
+                droneUuid,
+                droneName,
+                execution.status(),
+                execution.executionNumber(),
+                execution.queuedAt() != null ? Timestamp.from(execution.queuedAt()) : null,
+                execution.startedAt() != null ? Timestamp.from(execution.startedAt()) : null,
+                execution.lastUpdatedAt() != null ? Timestamp.from(execution.lastUpdatedAt()) : null);
     }
 
     public void deleteOutpost(UUID outpostUuid)
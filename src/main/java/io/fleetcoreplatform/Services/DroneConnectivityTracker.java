@@ -0,0 +1,101 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.TelemetryConfig;
+import io.fleetcoreplatform.Managers.Database.DbModels.DbGroup;
+import io.fleetcoreplatform.Managers.Database.Mappers.GroupMapper;
+import io.fleetcoreplatform.Managers.IoTCore.IotManager;
+import io.fleetcoreplatform.Models.DroneStatusModel;
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * Online/offline state of every drone, answered from memory. A drone is online while its telemetry
+ * is fresher than {@code telemetry.stale-after}. When reconciliation is enabled, the MQTT
+ * connectivity of the fleet index is read periodically with one query per group and also
+ * counts, so drones that are connected but not streaming telemetry still show as online.
+ */
+@ApplicationScoped
+public class DroneConnectivityTracker implements TelemetryListener {
+    @Inject IotManager iotManager;
+    @Inject GroupMapper groupMapper;
+    @Inject TelemetryConfig telemetryConfig;
+    @Inject Logger logger;
+
+    private final ConcurrentHashMap<UUID, Long> lastSeen = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, DroneStatusModel> reconciled = new ConcurrentHashMap<>();
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        if (!telemetryConfig.connectivity().reconcileEnabled()) {
+            return;
+        }
+
+        executor =
+                Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().name("drone-connectivity-reconciler").daemon().factory());
+
+        long interval = telemetryConfig.connectivity().reconcileInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::reconcile, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onTelemetry(UUID droneUuid, TelemetryFrame frame) {
+        lastSeen.put(droneUuid, System.currentTimeMillis());
+    }
+
+    public DroneStatusModel getStatus(UUID droneUuid) {
+        Long seen = lastSeen.get(droneUuid);
+        DroneStatusModel fleetIndex = reconciled.get(droneUuid);
+
+        boolean fresh =
+                seen != null
+                        && seen >= System.currentTimeMillis() - telemetryConfig.staleAfter().toMillis();
+        boolean connected = fresh || (fleetIndex != null && Boolean.TRUE.equals(fleetIndex.connected()));
+
+        return new DroneStatusModel(fleetIndex != null ? fleetIndex.uptime() : null, connected, seen);
+    }
+
+    public void remove(UUID droneUuid) {
+        lastSeen.remove(droneUuid);
+        reconciled.remove(droneUuid);
+    }
+
+    private void reconcile() {
+        try {
+            for (DbGroup group : groupMapper.listAll()) {
+                // Thing groups are named after the group UUID, things after the drone UUID
+                Map<String, DroneStatusModel> statuses =
+                        iotManager.getGroupConnectivity(group.getUuid().toString());
+
+                statuses.forEach(
+                        (thingName, status) -> {
+                            try {
+                                reconciled.put(UUID.fromString(thingName), status);
+                            } catch (IllegalArgumentException ignored) {
+                                // Not a drone thing
+                            }
+                        });
+            }
+        } catch (Exception e) {
+            logger.errorf("Cannot reconcile drone connectivity: %s", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.TelemetryConfig;
+import io.fleetcoreplatform.Managers.Database.DbModels.DbDrone;
+import io.fleetcoreplatform.Managers.Database.Mappers.DroneMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of drone UUIDs by drone name, for the telemetry of agents that still report
+ * their name instead of their thing name. Unknown names are cached too, so a misconfigured agent
+ * costs one query per expiry rather than one per frame.
+ */
+@ApplicationScoped
+public class DroneNameCache {
+    private static final int MAX_ENTRIES = 10_000;
+
+    private record Entry(UUID uuid, long loadedAt) {}
+
+    @Inject DroneMapper droneMapper;
+    @Inject TelemetryConfig telemetryConfig;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** @return The UUID of the drone with that name, or null if there is none */
+    public UUID resolve(String name) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(name);
+
+        if (entry == null || entry.loadedAt() < now - telemetryConfig.consumer().deviceNameTtl().toMillis()) {
+            DbDrone drone = droneMapper.findByName(name);
+            entry = new Entry(drone != null ? drone.getUuid() : null, now);
+
+            // Names come from the queue, never let them grow the map without bound
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+            entries.put(name, entry);
+        }
+
+        return entry.uuid();
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,43 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.TelemetryConfig;
+import io.fleetcoreplatform.Managers.Database.Mappers.DroneMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of the drones each coordinator owns, so in-memory queries over the whole
+ * fleet can be filtered without a database round trip per request
+ */
+@ApplicationScoped
+public class DroneOwnershipCache {
+    private record Entry(Set<UUID> drones, long loadedAt) {}
+
+    @Inject DroneMapper droneMapper;
+    @Inject TelemetryConfig telemetryConfig;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public Set<UUID> getOwnedDrones(String cognitoSub) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(cognitoSub);
+
+        if (entry == null || entry.loadedAt() < now - telemetryConfig.spatial().ownershipTtl().toMillis()) {
+            entry = new Entry(Set.copyOf(droneMapper.listDroneUuidsByCoordinator(cognitoSub)), now);
+            entries.put(cognitoSub, entry);
+        }
+
+        return entry.drones();
+    }
+
+    public void invalidate(String cognitoSub) {
+        entries.remove(cognitoSub);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,203 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.TelemetryConfig;
+import io.fleetcoreplatform.Models.NearbyDroneModel;
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Current position of every drone, bucketed in a uniform latitude/longitude grid. A proximity
+ * query only visits the cells overlapping the search circle, so its cost depends on the local
+ * density and not on the fleet size.
+ */
+@ApplicationScoped
+public class DronePositionIndex implements TelemetryListener {
+    private static final double EARTH_RADIUS_M = 6_371_008.8;
+    private static final double METRES_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_M;
+
+    private record Position(double latitude, double longitude, long cell, double deviceTimestamp, long receivedAt) {}
+
+    @Inject TelemetryConfig telemetryConfig;
+    @Inject MeterRegistry registry;
+
+    private final ConcurrentHashMap<UUID, Position> positions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<UUID>> cells = new ConcurrentHashMap<>();
+    private double cellSize;
+    private int longitudeCells;
+
+    @PostConstruct
+    void init() {
+        cellSize = telemetryConfig.spatial().cellSizeDegrees();
+        longitudeCells = (int) Math.round(360 / cellSize);
+
+        registry.gauge("telemetry.spatial.drones", positions, ConcurrentHashMap::size);
+        registry.gauge("telemetry.spatial.cells", cells, ConcurrentHashMap::size);
+    }
+
+    @Override
+    public void onTelemetry(UUID droneUuid, TelemetryFrame frame) {
+        double latitude = frame.getLatitude();
+        double longitude = frame.getLongitude();
+        if (!frame.hasPosition()
+                || Double.isNaN(latitude)
+                || Double.isNaN(longitude)
+                || Math.abs(latitude) > 90
+                || Math.abs(longitude) > 180) {
+            return;
+        }
+
+        long cell = cellKey(latitudeIndex(latitude), longitudeIndex(longitude));
+        Position candidate = new Position(latitude, longitude, cell, frame.getTimestamp(), System.currentTimeMillis());
+
+        // The cell move runs under the lock of the drone entry, two frames of a drone never interleave
+        positions.compute(droneUuid, (key, previous) -> {
+            if (previous != null && !isNewer(candidate, previous)) {
+                return previous;
+            }
+
+            if (previous == null || previous.cell() != cell) {
+                cells.computeIfAbsent(cell, ignored -> ConcurrentHashMap.newKeySet()).add(droneUuid);
+                if (previous != null) {
+                    removeFromCell(previous.cell(), droneUuid);
+                }
+            }
+
+            return candidate;
+        });
+    }
+
+    public void remove(UUID droneUuid) {
+        positions.computeIfPresent(droneUuid, (key, previous) -> {
+            removeFromCell(previous.cell(), droneUuid);
+            return null;
+        });
+    }
+
+    /**
+     * @param radiusMetres Search radius around the point
+     * @param filter Drones rejected by the filter are skipped before the distance is computed
+     * @param limit Maximum number of results
+     * @return The drones within the radius, nearest first
+     */
+    public List<NearbyDroneModel> findNearby(
+            double latitude,
+            double longitude,
+            double radiusMetres,
+            Predicate<UUID> filter,
+            int limit) {
+        double latitudeSpan = radiusMetres / METRES_PER_DEGREE;
+        double widestLatitude = Math.min(89.0, Math.abs(latitude) + latitudeSpan);
+        double longitudeSpan = latitudeSpan / Math.cos(Math.toRadians(widestLatitude));
+
+        int minLatitude = latitudeIndex(Math.max(-90, latitude - latitudeSpan));
+        int maxLatitude = latitudeIndex(Math.min(90, latitude + latitudeSpan));
+        int minLongitude = (int) Math.floor((longitude - longitudeSpan) / cellSize);
+        int maxLongitude = (int) Math.floor((longitude + longitudeSpan) / cellSize);
+        if (maxLongitude - minLongitude + 1 >= longitudeCells) {
+            minLongitude = -longitudeCells / 2;
+            maxLongitude = minLongitude + longitudeCells - 1;
+        }
+
+        List<NearbyDroneModel> nearby = new ArrayList<>();
+        // A drone moving between cells is briefly a member of both
+        Set<UUID> seen = new HashSet<>();
+
+        for (int latitudeIndex = minLatitude; latitudeIndex <= maxLatitude; latitudeIndex++) {
+            for (int longitudeIndex = minLongitude; longitudeIndex <= maxLongitude; longitudeIndex++) {
+                Set<UUID> members = cells.get(cellKey(latitudeIndex, wrapLongitudeIndex(longitudeIndex)));
+                if (members == null) {
+                    continue;
+                }
+
+                for (UUID droneUuid : members) {
+                    if (!seen.add(droneUuid) || !filter.test(droneUuid)) {
+                        continue;
+                    }
+
+                    Position position = positions.get(droneUuid);
+                    if (position == null) {
+                        continue;
+                    }
+
+                    double distance =
+                            distanceMetres(latitude, longitude, position.latitude(), position.longitude());
+                    if (distance <= radiusMetres) {
+                        nearby.add(
+                                new NearbyDroneModel(
+                                        droneUuid,
+                                        position.latitude(),
+                                        position.longitude(),
+                                        distance,
+                                        new Timestamp(position.receivedAt())));
+                    }
+                }
+            }
+        }
+
+        nearby.sort(Comparator.comparingDouble(NearbyDroneModel::distance_m));
+
+        return nearby.size() > limit ? List.copyOf(nearby.subList(0, limit)) : nearby;
+    }
+
+    /** Frames can arrive out of order, a frame older than the indexed one is ignored */
+    private static boolean isNewer(Position candidate, Position current) {
+        if (Double.isNaN(candidate.deviceTimestamp()) || Double.isNaN(current.deviceTimestamp())) {
+            return true;
+        }
+
+        return candidate.deviceTimestamp() >= current.deviceTimestamp();
+    }
+
+    private void removeFromCell(long cell, UUID droneUuid) {
+        cells.computeIfPresent(
+                cell,
+                (key, members) -> {
+                    members.remove(droneUuid);
+                    return members.isEmpty() ? null : members;
+                });
+    }
+
+    private int latitudeIndex(double latitude) {
+        return (int) Math.floor(latitude / cellSize);
+    }
+
+    private int longitudeIndex(double longitude) {
+        return wrapLongitudeIndex((int) Math.floor(longitude / cellSize));
+    }
+
+    /** Folds indexes past the antimeridian back into [-180, 180), so searches there wrap around */
+    private int wrapLongitudeIndex(int longitudeIndex) {
+        int half = longitudeCells / 2;
+        return Math.floorMod(longitudeIndex + half, longitudeCells) - half;
+    }
+
+    private static long cellKey(int latitudeIndex, int longitudeIndex) {
+        return ((long) latitudeIndex << 32) | (longitudeIndex & 0xffffffffL);
+    }
+
+    /** Haversine distance */
+    private static double distanceMetres(
+            double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double deltaLatitude = Math.toRadians(toLatitude - fromLatitude);
+        double deltaLongitude = Math.toRadians(toLongitude - fromLongitude);
+        double a =
+                Math.pow(Math.sin(deltaLatitude / 2), 2)
+                        + Math.cos(Math.toRadians(fromLatitude))
+                                * Math.cos(Math.toRadians(toLatitude))
+                                * Math.pow(Math.sin(deltaLongitude / 2), 2);
+
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
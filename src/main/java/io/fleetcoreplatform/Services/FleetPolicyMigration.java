@@ -0,0 +1,165 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.ProvisioningConfig;
+import io.fleetcoreplatform.Managers.Database.Mappers.DroneMapper;
+import io.fleetcoreplatform.Managers.IoTCore.IotManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import javax.sql.DataSource;
+import org.jboss.logging.Logger;
+
+/**
+ * Moves drones registered before the fleet policy off their own {@code <thing>-policy}. For every
+ * certificate of a drone the fleet policy is attached first, then the legacy policy is detached
+ * and deleted, so the drone keeps its permissions throughout. Certificates already migrated are
+ * left alone, which makes the job safe to run again after a partial failure.
+ *
+ * <p>Only one instance migrates at a time: the run holds a Postgres advisory lock on a dedicated
+ * connection, the other instances skip the migration. The lock goes away with the connection if
+ * the instance dies.
+ */
+@Startup
+@ApplicationScoped
+public class FleetPolicyMigration {
+    private static final String LOCK_NAME = "fleet_policy_migration";
+
+    @Inject DataSource dataSource;
+    @Inject IotManager iotManager;
+    @Inject DroneMapper droneMapper;
+    @Inject ProvisioningConfig provisioningConfig;
+    @Inject MeterRegistry registry;
+    @Inject Logger logger;
+
+    private Counter migratedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    void start() {
+        if (!provisioningConfig.policyMigration().enabled()) {
+            return;
+        }
+
+        migratedCounter = registry.counter("drone.policy.migration", "outcome", "success");
+        failedCounter = registry.counter("drone.policy.migration", "outcome", "failure");
+
+        Thread.ofPlatform().name("fleet-policy-migration").daemon().start(this::migrateOnce);
+    }
+
+    /** Runs the migration unless another instance holds the lock */
+    private void migrateOnce() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                logger.info("Fleet policy migration is running on another instance, skipping it");
+                return;
+            }
+
+            try {
+                migrate();
+            } finally {
+                // The pool keeps the session open, the lock would outlive the run otherwise
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        } catch (SQLException e) {
+            logger.errorf("Cannot lock fleet policy migration: %s", e.getMessage());
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(hashtext(?))")) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private void migrate() {
+        String fleetPolicy;
+        List<UUID> drones;
+        try {
+            fleetPolicy = iotManager.getFleetPolicyAsync().join();
+            drones = droneMapper.listAllDroneUuids();
+        } catch (Exception e) {
+            logger.errorf("Cannot start fleet policy migration: %s", e.getMessage());
+            return;
+        }
+
+        int batchSize = provisioningConfig.policyMigration().batchSize();
+        int failed = 0;
+        logger.infof("Migrating %d drones to fleet policy %s", drones.size(), fleetPolicy);
+
+        for (int from = 0; from < drones.size(); from += batchSize) {
+            List<UUID> batch = drones.subList(from, Math.min(from + batchSize, drones.size()));
+
+            List<CompletableFuture<Boolean>> migrations =
+                    batch.stream()
+                            .map(
+                                    droneUuid ->
+                                            migrateDrone(droneUuid.toString(), fleetPolicy)
+                                                    .handle(
+                                                            (ignored, ex) -> {
+                                                                if (ex == null) {
+                                                                    migratedCounter.increment();
+                                                                    return true;
+                                                                }
+
+                                                                logger.errorf(
+                                                                        "Cannot migrate policy of drone %s: %s",
+                                                                        droneUuid, ex.getMessage());
+                                                                failedCounter.increment();
+                                                                return false;
+                                                            }))
+                            .toList();
+
+            CompletableFuture.allOf(migrations.toArray(CompletableFuture[]::new)).join();
+            failed += (int) migrations.stream().filter(migration -> !migration.join()).count();
+        }
+
+        logger.infof(
+                "Fleet policy migration completed, %d drones migrated, %d failed",
+                drones.size() - failed, failed);
+    }
+
+    private CompletableFuture<Void> migrateDrone(String thingName, String fleetPolicy) {
+        return iotManager
+                .listThingPrincipalsAsync(thingName)
+                .thenCompose(
+                        principals ->
+                                CompletableFuture.allOf(
+                                        principals.stream()
+                                                .map(certificateARN -> migrateCertificate(thingName, certificateARN, fleetPolicy))
+                                                .toArray(CompletableFuture[]::new)));
+    }
+
+    private CompletableFuture<Void> migrateCertificate(String thingName, String certificateARN, String fleetPolicy) {
+        String legacyPolicy = IotManager.legacyPolicyName(thingName);
+
+        return iotManager
+                .listAttachedPoliciesAsync(certificateARN)
+                .thenCompose(
+                        policies -> {
+                            CompletableFuture<Void> attached =
+                                    policies.contains(fleetPolicy)
+                                            ? CompletableFuture.completedFuture(null)
+                                            : iotManager.attachPolicyToCertificateAsync(certificateARN, fleetPolicy);
+
+                            if (!policies.contains(legacyPolicy)) {
+                                return attached;
+                            }
+
+                            return attached.thenCompose(
+                                    ignored -> iotManager.deletePolicyAsync(legacyPolicy, certificateARN));
+                        });
+    }
+}
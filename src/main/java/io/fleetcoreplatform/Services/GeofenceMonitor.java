@@ -0,0 +1,196 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.TelemetryConfig;
+import io.fleetcoreplatform.Managers.Database.DbModels.DbDroneOutpost;
+import io.fleetcoreplatform.Managers.Database.DbModels.DbOutpost;
+import io.fleetcoreplatform.Managers.Database.Mappers.DroneMapper;
+import io.fleetcoreplatform.Managers.Database.Mappers.OutpostMapper;
+import io.fleetcoreplatform.Models.GeofenceBreachEvent;
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * Checks every telemetry position against the area of the outpost the drone belongs to, and fires
+ * a {@link GeofenceBreachEvent} on the frame where the drone leaves or re-enters it. The events are
+ * relayed to the live telemetry subscribers by {@link TelemetryBroadcaster}.
+ *
+ * <p>Outpost polygons are compiled once into a {@link PreparedGeofence}. Compilation and database
+ * lookups run on a background thread, the ingestion path only reads maps. Callers changing an
+ * outpost area must call {@link #invalidate(UUID)}.
+ */
+@ApplicationScoped
+public class GeofenceMonitor implements TelemetryListener {
+    @Inject DroneMapper droneMapper;
+    @Inject OutpostMapper outpostMapper;
+    @Inject TelemetryConfig telemetryConfig;
+    @Inject Event<GeofenceBreachEvent> breachEvent;
+    @Inject MeterRegistry registry;
+    @Inject Logger logger;
+
+    private volatile Map<UUID, UUID> droneOutposts = Map.of();
+    private final ConcurrentHashMap<UUID, Optional<PreparedGeofence>> geofences = new ConcurrentHashMap<>();
+    private final Set<UUID> compiling = ConcurrentHashMap.newKeySet();
+    /** Bumped by every invalidation, a compile that started before one is not installed */
+    private final ConcurrentHashMap<UUID, Long> generations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Boolean> insideByDrone = new ConcurrentHashMap<>();
+    private ScheduledExecutorService executor;
+
+    private Counter breachCounter;
+
+    @PostConstruct
+    void start() {
+        if (!telemetryConfig.geofence().enabled()) {
+            return;
+        }
+
+        breachCounter = registry.counter("telemetry.geofence.breaches");
+        registry.gauge("telemetry.geofence.compiled", geofences, ConcurrentHashMap::size);
+
+        executor =
+                Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().name("geofence-monitor").daemon().factory());
+
+        long refresh = telemetryConfig.geofence().refreshInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::refreshAssignments, 0, refresh, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onTelemetry(UUID droneUuid, TelemetryFrame frame) {
+        if (executor == null || !frame.hasPosition()) {
+            return;
+        }
+
+        double latitude = frame.getLatitude();
+        double longitude = frame.getLongitude();
+        if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+            return;
+        }
+
+        UUID outpostUuid = droneOutposts.get(droneUuid);
+        if (outpostUuid == null) {
+            return;
+        }
+
+        Optional<PreparedGeofence> geofence = geofences.get(outpostUuid);
+        if (geofence == null) {
+            scheduleCompile(outpostUuid);
+            return;
+        }
+        if (geofence.isEmpty()) {
+            return;
+        }
+
+        boolean inside = geofence.get().contains(latitude, longitude);
+        Boolean wasInside = insideByDrone.put(droneUuid, inside);
+
+        // The first position seen only raises an event when it is already outside
+        if ((wasInside == null && !inside) || (wasInside != null && wasInside != inside)) {
+            GeofenceBreachEvent.Type type =
+                    inside ? GeofenceBreachEvent.Type.RETURN : GeofenceBreachEvent.Type.BREACH;
+
+            if (!inside) {
+                breachCounter.increment();
+                logger.warnf("Drone %s left the area of outpost %s", droneUuid, outpostUuid);
+            }
+
+            breachEvent.fireAsync(
+                    new GeofenceBreachEvent(
+                            type,
+                            droneUuid,
+                            outpostUuid,
+                            latitude,
+                            longitude,
+                            new Timestamp(System.currentTimeMillis())));
+        }
+    }
+
+    /** Drops the compiled area of the outpost and recompiles it from the database */
+    public void invalidate(UUID outpostUuid) {
+        synchronized (generations) {
+            generations.merge(outpostUuid, 1L, Long::sum);
+            geofences.remove(outpostUuid);
+        }
+        scheduleCompile(outpostUuid);
+    }
+
+    private void scheduleCompile(UUID outpostUuid) {
+        if (executor == null || !compiling.add(outpostUuid)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> compile(outpostUuid));
+        } catch (Exception e) {
+            compiling.remove(outpostUuid);
+        }
+    }
+
+    /**
+     * An invalidation during the compile is skipped by {@link #scheduleCompile} since the outpost
+     * is still compiling, the area read may be the old one so it is compiled again
+     */
+    private void compile(UUID outpostUuid) {
+        try {
+            boolean installed = false;
+            while (!installed) {
+                long generation = generations.getOrDefault(outpostUuid, 0L);
+
+                DbOutpost outpost = outpostMapper.findByUuid(outpostUuid);
+                PreparedGeofence geofence =
+                        outpost == null || outpost.getArea() == null
+                                ? null
+                                : PreparedGeofence.compile(
+                                        outpost.getArea().points, telemetryConfig.geofence().gridSize());
+
+                synchronized (generations) {
+                    if (generations.getOrDefault(outpostUuid, 0L) == generation) {
+                        geofences.put(outpostUuid, Optional.ofNullable(geofence));
+                        installed = true;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.errorf("Cannot compile area of outpost %s: %s", outpostUuid, e.getMessage());
+        } finally {
+            compiling.remove(outpostUuid);
+        }
+    }
+
+    private void refreshAssignments() {
+        try {
+            Map<UUID, UUID> assignments = new HashMap<>();
+            for (DbDroneOutpost row : droneMapper.listDroneOutposts()) {
+                assignments.put(row.getDrone_uuid(), row.getOutpost_uuid());
+            }
+
+            droneOutposts = Map.copyOf(assignments);
+            insideByDrone.keySet().retainAll(assignments.keySet());
+        } catch (Exception e) {
+            logger.errorf("Cannot load drone outpost assignments: %s", e.getMessage());
+        }
+    }
+}
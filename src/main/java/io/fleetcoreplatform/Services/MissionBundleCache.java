@@ -0,0 +1,110 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.MissionConfig;
+import io.fleetcoreplatform.Managers.Database.DbModels.DbDrone;
+import io.fleetcoreplatform.Managers.Database.Mappers.MissionBundleMapper;
+import io.fleetcoreplatform.Managers.S3.StorageManager;
+import io.fleetcoreplatform.Models.DroneHomePositionModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import org.jboss.logging.Logger;
+import org.postgis.Geometry;
+
+/**
+ * Reuses the bundle of an earlier mission planned from the same inputs: outpost area, drones with
+ * their home position and altitude. The planner version is part of the hash, so upgrading it plans
+ * every mission again. The index lives in the mission_bundles table and keeps the most recently
+ * used bundles, the S3 objects themselves stay referenced by their missions. The table is
+ * provisioned with db.sql.
+ */
+@ApplicationScoped
+public class MissionBundleCache {
+    /**
+     * Version of the fleetcorelib planner, bumped together with the dependency in pom.xml. The jar
+     * manifest may not carry one.
+     */
+    static final String PLANNER_VERSION = "1.2.0";
+
+    @Inject MissionBundleMapper missionBundleMapper;
+    @Inject StorageManager storageManager;
+    @Inject MissionConfig missionConfig;
+    @Inject MeterRegistry registry;
+    @Inject Logger logger;
+
+    /** @return SHA-256 of the planning inputs of a group mission, in hex */
+    public static String hash(Geometry area, List<DbDrone> drones, int altitude) {
+        StringBuilder inputs = new StringBuilder();
+        inputs.append(PLANNER_VERSION).append('\n');
+        inputs.append(area).append('\n');
+        inputs.append(altitude).append('\n');
+
+        drones.stream()
+                .sorted(Comparator.comparing(DbDrone::getUuid))
+                .forEach(drone -> {
+                    DroneHomePositionModel home = drone.getHome_position();
+                    inputs.append(drone.getUuid()).append(' ')
+                            .append(home.x()).append(' ')
+                            .append(home.y()).append(' ')
+                            .append(home.z()).append('\n');
+                });
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(inputs.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return The key of a bundle planned from the same inputs, or null if there is none or it was
+     *     removed from S3
+     */
+    public String find(String inputHash) {
+        if (!missionConfig.bundleCache().enabled() || inputHash == null) {
+            return null;
+        }
+
+        String bundleKey = missionBundleMapper.touch(inputHash);
+        if (bundleKey != null && !storageManager.objectExists(bundleKey)) {
+            missionBundleMapper.delete(inputHash);
+            bundleKey = null;
+        }
+
+        registry.counter("missions.bundle.cache", "outcome", bundleKey == null ? "miss" : "hit").increment();
+        return bundleKey;
+    }
+
+    /** Indexes a freshly uploaded bundle, a failure only costs a later cache miss */
+    public void put(String inputHash, String bundleKey) {
+        if (!missionConfig.bundleCache().enabled() || inputHash == null) {
+            return;
+        }
+
+        try {
+            missionBundleMapper.upsert(inputHash, bundleKey);
+        } catch (Exception e) {
+            logger.warnf("Cannot index mission bundle %s: %s", bundleKey, e.getMessage());
+        }
+    }
+
+    @Scheduled(every = "10m", delayed = "1m")
+    void evict() {
+        if (!missionConfig.bundleCache().enabled()) {
+            return;
+        }
+
+        int evicted = missionBundleMapper.evictLeastRecentlyUsed(missionConfig.bundleCache().maxEntries());
+        if (evicted > 0) {
+            logger.infof("Forgot %d least recently used mission bundles", evicted);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.MissionConfig;
+import io.fleetcoreplatform.Models.MissionCreationModel;
+import io.fleetcoreplatform.Models.MissionDraft;
+import io.fleetcoreplatform.Models.MissionStageModel;
+import io.fleetcoreplatform.Models.OutpostMissionModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * Creates missions in the background once the request was validated. Every mission goes through
+ * the same stages: planning builds the bundle, upload stores it in S3, dispatch creates the IoT job
+ * and record inserts the mission. A failed stage is retried on its own, the stages before it are
+ * not run again. A mission whose job was dispatched but could not be recorded has its job canceled. Planning and upload are skipped when {@link MissionBundleCache} knows a bundle
+ * planned from the same inputs.
+ *
+ * <p>Missions are created by a fixed number of workers with a bounded queue in front of them, a
+ * mission submitted while the queue is full is rejected. The missions of every group of an outpost
+ * can be submitted together and followed as one. Creations live in memory and are dropped once the
+ * retention passed.
+ */
+@ApplicationScoped
+public class MissionCreationService {
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String SUCCEEDED = "SUCCEEDED";
+    public static final String FAILED = "FAILED";
+    /** Planning and upload of a mission whose bundle was reused */
+    public static final String SKIPPED = "SKIPPED";
+
+    public static final String PLANNING = "PLANNING";
+    public static final String UPLOAD = "UPLOAD";
+    public static final String DISPATCH = "DISPATCH";
+    public static final String RECORD = "RECORD";
+    /** Cancels the job once recording failed, not reported as a stage of the creation */
+    private static final String ABANDON = "ABANDON";
+
+    /** Outpost mission whose group missions did not all succeed */
+    public static final String COMPLETED = "COMPLETED";
+
+    @Inject CoreService coreService;
+    @Inject MissionBundleCache missionBundleCache;
+    @Inject MissionConfig missionConfig;
+    @Inject MeterRegistry registry;
+    @Inject Logger logger;
+
+    private final ConcurrentHashMap<UUID, Creation> creations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, OutpostMission> outpostMissions = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        int concurrency = missionConfig.creation().concurrency();
+        executor =
+                new ThreadPoolExecutor(
+                        concurrency,
+                        concurrency,
+                        0,
+                        TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(missionConfig.creation().queueCapacity()),
+                        Thread.ofPlatform().name("mission-creation-", 0).daemon().factory());
+
+        registry.gauge("missions.creation.active", creations, ConcurrentHashMap::size);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues the creation of a validated mission
+     *
+     * @param owner Cognito sub of the coordinator, only them can read the creation afterwards
+     * @throws RejectedExecutionException If too many missions are already waiting
+     */
+    public synchronized void submit(MissionDraft draft, String owner) {
+        Creation creation = new Creation(draft, owner);
+        creations.put(draft.missionUuid(), creation);
+
+        try {
+            executor.execute(() -> run(creation));
+        } catch (RejectedExecutionException e) {
+            creations.remove(draft.missionUuid());
+            registry.counter("missions.creation", "outcome", "rejected").increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Queues the missions of every group of an outpost together, they are planned and dispatched
+     * side by side by the workers. Either all missions are queued or none.
+     *
+     * @param owner Cognito sub of the coordinator, only them can read the missions afterwards
+     * @return UUID tracking the missions as a whole
+     * @throws RejectedExecutionException If the queue cannot take every mission
+     */
+    public synchronized UUID submitAll(UUID outpostUuid, List<MissionDraft> drafts, String owner) {
+        if (executor.getQueue().remainingCapacity() < drafts.size()) {
+            registry.counter("missions.creation", "outcome", "rejected").increment(drafts.size());
+            throw new RejectedExecutionException("Cannot queue " + drafts.size() + " missions");
+        }
+
+        for (MissionDraft draft : drafts) {
+            submit(draft, owner);
+        }
+
+        UUID outpostMissionUuid = UUID.randomUUID();
+        outpostMissions.put(
+                outpostMissionUuid,
+                new OutpostMission(outpostMissionUuid, outpostUuid, owner, drafts.stream().map(MissionDraft::missionUuid).toList()));
+
+        return outpostMissionUuid;
+    }
+
+    /**
+     * @return The progress of every mission of the outpost mission, or null if it does not exist,
+     *     expired or belongs to another coordinator
+     */
+    public OutpostMissionModel getOutpostMission(UUID outpostMissionUuid, String owner) {
+        OutpostMission outpostMission = outpostMissions.get(outpostMissionUuid);
+        if (outpostMission == null || !outpostMission.owner().equals(owner)) {
+            return null;
+        }
+
+        List<MissionCreationModel> missions =
+                outpostMission.missionUuids().stream()
+                        .map(creations::get)
+                        .filter(Objects::nonNull)
+                        .map(Creation::toModel)
+                        .toList();
+
+        String status;
+        if (missions.stream().anyMatch(mission -> PENDING.equals(mission.status()) || RUNNING.equals(mission.status()))) {
+            status = RUNNING;
+        } else if (missions.stream().allMatch(mission -> SUCCEEDED.equals(mission.status()))) {
+            status = SUCCEEDED;
+        } else if (missions.stream().allMatch(mission -> FAILED.equals(mission.status()))) {
+            status = FAILED;
+        } else {
+            status = COMPLETED;
+        }
+
+        return new OutpostMissionModel(
+                outpostMission.uuid(), outpostMission.outpostUuid(), status, outpostMission.createdAt(), missions);
+    }
+
+    /**
+     * @return The progress of the creation, or null if it does not exist, expired or belongs to
+     *     another coordinator
+     */
+    public MissionCreationModel getCreation(UUID missionUuid, String owner) {
+        Creation creation = creations.get(missionUuid);
+        return creation == null || !creation.owner.equals(owner) ? null : creation.toModel();
+    }
+
+    /** Forgets finished creations older than the retention */
+    @Scheduled(every = "5m", delayed = "5m")
+    void expireCreations() {
+        long cutoff = System.currentTimeMillis() - missionConfig.creation().retention().toMillis();
+        creations.values().removeIf(creation -> creation.finishedAt != null && creation.finishedAt.getTime() < cutoff);
+        outpostMissions.values().removeIf(outpostMission -> outpostMission.missionUuids().stream().noneMatch(creations::containsKey));
+    }
+
+    private void run(Creation creation) {
+        MissionDraft draft = creation.draft;
+        String cachedKey = findCachedBundle(draft);
+        if (cachedKey != null) {
+            creation.bundleKey = cachedKey;
+            creation.planning.status = SKIPPED;
+            creation.upload.status = SKIPPED;
+        }
+
+        boolean dispatched =
+                (cachedKey != null
+                                || runStage(creation, creation.planning, () -> creation.bundle = draft.planner().build())
+                                        && runStage(creation, creation.upload, () -> upload(creation)))
+                        && runStage(creation, creation.dispatch, () -> coreService.dispatchMission(draft, creation.bundleKey));
+        boolean succeeded =
+                dispatched && runStage(creation, creation.record, () -> coreService.recordMission(draft, creation.bundleKey));
+
+        if (dispatched && !succeeded) {
+            abandon(creation);
+        }
+
+        creation.finishedAt = new Timestamp(System.currentTimeMillis());
+        registry.counter("missions.creation", "outcome", succeeded ? "success" : "failure").increment();
+        logger.infof("Mission %s creation %s", draft.missionUuid(), succeeded ? "completed" : "failed");
+    }
+
+    /** Cancels the job of a mission that could not be recorded, with the same retries as a stage */
+    private void abandon(Creation creation) {
+        Stage abandon = new Stage(ABANDON);
+        boolean canceled = runStage(creation, abandon, () -> coreService.abandonMission(creation.draft));
+
+        registry.counter("missions.creation.abandoned", "outcome", canceled ? "success" : "failure").increment();
+        if (!canceled) {
+            logger.errorf("Mission %s was dispatched but neither recorded nor canceled: %s", creation.draft.missionUuid(), abandon.error);
+        }
+    }
+
+    /**
+     * Every upload attempt deletes the bundle file, a retry plans the same mission again since the
+     * planner only writes to a file
+     */
+    private void upload(Creation creation) throws IOException {
+        if (!creation.bundle.exists()) {
+            creation.bundle = creation.draft.planner().build();
+        }
+
+        creation.bundleKey = coreService.uploadMissionBundle(creation.draft, creation.bundle);
+        missionBundleCache.put(creation.draft.bundleHash(), creation.bundleKey);
+    }
+
+    /** A failed lookup plans the mission as if nothing was cached */
+    private String findCachedBundle(MissionDraft draft) {
+        try {
+            return missionBundleCache.find(draft.bundleHash());
+        } catch (Exception e) {
+            logger.warnf("Cannot look up cached bundle of mission %s: %s", draft.missionUuid(), e.getMessage());
+            return null;
+        }
+    }
+
+    /** @return True once the stage succeeded, false if every attempt failed */
+    private boolean runStage(Creation creation, Stage stage, Action action) {
+        int attempts = missionConfig.creation().stageAttempts();
+        long delay = missionConfig.creation().retryDelay().toMillis();
+
+        stage.status = RUNNING;
+        while (true) {
+            stage.attempts++;
+            try {
+                action.run();
+                stage.status = SUCCEEDED;
+                stage.finishedAt = new Timestamp(System.currentTimeMillis());
+                return true;
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                stage.error = cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+                logger.warnf(
+                        "Stage %s of mission %s failed, attempt %d of %d: %s",
+                        stage.name, creation.draft.missionUuid(), stage.attempts, attempts, stage.error);
+            }
+
+            if (stage.attempts >= attempts) {
+                break;
+            }
+
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        stage.status = FAILED;
+        stage.finishedAt = new Timestamp(System.currentTimeMillis());
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private record OutpostMission(UUID uuid, UUID outpostUuid, String owner, List<UUID> missionUuids, Timestamp createdAt) {
+        OutpostMission(UUID uuid, UUID outpostUuid, String owner, List<UUID> missionUuids) {
+            this(uuid, outpostUuid, owner, missionUuids, new Timestamp(System.currentTimeMillis()));
+        }
+    }
+
+    private static final class Creation {
+        private final MissionDraft draft;
+        private final String owner;
+        private final Timestamp createdAt = new Timestamp(System.currentTimeMillis());
+        private final Stage planning = new Stage(PLANNING);
+        private final Stage upload = new Stage(UPLOAD);
+        private final Stage dispatch = new Stage(DISPATCH);
+        private final Stage record = new Stage(RECORD);
+        private volatile File bundle;
+        private volatile String bundleKey;
+        private volatile Timestamp finishedAt;
+
+        Creation(MissionDraft draft, String owner) {
+            this.draft = draft;
+            this.owner = owner;
+        }
+
+        MissionCreationModel toModel() {
+            List<Stage> stages = List.of(planning, upload, dispatch, record);
+
+            String status = PENDING;
+            if (stages.stream().anyMatch(stage -> FAILED.equals(stage.status))) {
+                status = FAILED;
+            } else if (SUCCEEDED.equals(record.status)) {
+                status = SUCCEEDED;
+            } else if (!PENDING.equals(planning.status)) {
+                status = RUNNING;
+            }
+
+            return new MissionCreationModel(
+                    draft.missionUuid(),
+                    status,
+                    createdAt,
+                    finishedAt,
+                    stages.stream().map(Stage::toModel).toList());
+        }
+    }
+
+    private static final class Stage {
+        private final String name;
+        private volatile String status = PENDING;
+        private volatile int attempts;
+        private volatile String error;
+        private volatile Timestamp finishedAt;
+
+        Stage(String name) {
+            this.name = name;
+        }
+
+        MissionStageModel toModel() {
+            return new MissionStageModel(name, status, attempts, error, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package io.fleetcoreplatform.Services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fleetcoreplatform.Configs.MissionConfig;
+import io.fleetcoreplatform.Managers.Database.Mappers.MissionExecutionMapper;
+import io.fleetcoreplatform.Managers.SQS.SqsManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Materializes the IoT job execution events into the mission_executions table, so mission status
+ * requests read the database instead of IoT Core. Every event updates the row of one drone, older
+ * or repeated events are ignored by the upsert, see {@link MissionExecutionMapper#upsert}. A job event (completed, canceled, deleted) makes
+ * {@link MissionStatusCache} read the final job state right away.
+ *
+ * <p>Messages that are not a mission event are acknowledged and skipped. Messages that could not
+ * be written are left on the queue and come back after the visibility timeout.
+ */
+@Startup
+@ApplicationScoped
+public class MissionEventIngestService {
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    @Inject SqsManager sqsManager;
+    @Inject MissionExecutionMapper missionExecutionMapper;
+    @Inject MissionStatusCache missionStatusCache;
+    @Inject MissionConfig missionConfig;
+    @Inject ObjectMapper objectMapper;
+    @Inject MeterRegistry registry;
+    @Inject Logger logger;
+
+    private volatile boolean running;
+    private Thread receiver;
+
+    @PostConstruct
+    void start() {
+        if (!missionConfig.events().enabled()) {
+            return;
+        }
+
+        running = true;
+        receiver = Thread.ofPlatform().name("mission-events-receiver").daemon().start(this::receive);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (receiver != null) {
+            receiver.interrupt();
+        }
+    }
+
+    private void receive() {
+        String queueName = missionConfig.events().queueName();
+        long backoff = 1_000;
+
+        while (running) {
+            try {
+                List<Message> messages =
+                        sqsManager.receiveMessages(queueName, missionConfig.events().waitTimeSeconds()).join();
+
+                List<Message> processed = new ArrayList<>(messages.size());
+                for (Message message : messages) {
+                    if (process(message)) {
+                        processed.add(message);
+                    }
+                }
+
+                sqsManager
+                        .deleteMessages(queueName, processed)
+                        .whenComplete(
+                                (failed, ex) -> {
+                                    if (ex != null) {
+                                        logger.warnf("Failed to acknowledge mission events: %s", ex.getMessage());
+                                    }
+                                });
+                backoff = 1_000;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+
+                logger.errorf("Error while polling mission events queue, retrying in %d ms: %s", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /** @return False if the event must be delivered again */
+    private boolean process(Message message) {
+        JsonNode event;
+        UUID missionUuid;
+        try {
+            event = objectMapper.readTree(message.body());
+            missionUuid = UUID.fromString(event.path("jobId").asText());
+        } catch (Exception e) {
+            // Malformed, or a job that is not a mission such as a cancel job
+            count("skipped");
+            return true;
+        }
+
+        try {
+            switch (event.path("eventType").asText()) {
+                case "JOB_EXECUTION" -> {
+                    String thingArn = event.path("thingArn").asText();
+                    UUID droneUuid = UUID.fromString(thingArn.substring(thingArn.lastIndexOf('/') + 1));
+                    JsonNode version = event.path("versionNumber");
+
+                    missionExecutionMapper.upsert(
+                            missionUuid,
+                            droneUuid,
+                            event.path("status").asText(),
+                            version.canConvertToLong() ? version.asLong() : null,
+                            new Timestamp(event.path("timestamp").asLong() * 1000));
+                }
+                case "JOB" -> missionStatusCache.refresh(missionUuid);
+                default -> {
+                    count("skipped");
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            count("skipped");
+            return true;
+        } catch (Exception e) {
+            logger.warnf("Cannot record event %s of mission %s: %s", message.messageId(), missionUuid, e.getMessage());
+            count("failure");
+            return false;
+        }
+
+        count("success");
+        return true;
+    }
+
+    private void count(String outcome) {
+        registry.counter("missions.events", "outcome", outcome).increment();
+    }
+}
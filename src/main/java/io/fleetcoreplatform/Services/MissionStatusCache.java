@@ -0,0 +1,204 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.MissionConfig;
+import io.fleetcoreplatform.Managers.IoTCore.IotManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.sql.Timestamp;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.services.iot.model.Job;
+import software.amazon.awssdk.services.iot.model.JobExecutionSummary;
+import software.amazon.awssdk.services.iot.model.JobExecutionSummaryForJob;
+import software.amazon.awssdk.services.iot.model.JobStatus;
+import software.amazon.awssdk.services.iot.model.ResourceNotFoundException;
+
+/**
+ * Local copy of the IoT job and job executions of every mission someone is looking at, so status
+ * requests never call IoT Core themselves. A scheduler polls the jobs that are still running, a
+ * job whose state did not change is polled half as often each time, down to the maximum interval.
+ * Jobs in a final state are no longer polled, jobs nobody asked about within the retention are
+ * dropped.
+ *
+ * <p>The job ID of a mission is its UUID.
+ */
+@ApplicationScoped
+public class MissionStatusCache {
+    private static final Set<JobStatus> FINAL_STATUSES =
+            EnumSet.of(JobStatus.COMPLETED, JobStatus.CANCELED, JobStatus.DELETION_IN_PROGRESS);
+
+    /**
+     * @param job The IoT job, null if it does not exist
+     * @param executions Latest execution of each targeted drone, keyed by thing name
+     * @param refreshedAt When the state was read from IoT Core
+     */
+    public record Snapshot(Job job, Map<String, JobExecutionSummary> executions, Timestamp refreshedAt) {
+        boolean isFinal() {
+            return job == null || FINAL_STATUSES.contains(job.status());
+        }
+
+        boolean sameState(Snapshot other) {
+            return other != null && Objects.equals(job, other.job) && executions.equals(other.executions);
+        }
+    }
+
+    @Inject IotManager iotManager;
+    @Inject MissionConfig missionConfig;
+    @Inject MeterRegistry registry;
+    @Inject Logger logger;
+
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    private Counter pollCounter;
+    private Counter hitCounter;
+
+    @PostConstruct
+    void init() {
+        pollCounter = registry.counter("missions.status.polls");
+        hitCounter = registry.counter("missions.status.cache.hits");
+        registry.gauge("missions.status.tracked", entries, ConcurrentHashMap::size);
+    }
+
+    /**
+     * Returns the cached state of the mission job. The first request for a mission reads IoT Core
+     * once, concurrent requests share that read.
+     */
+    public Snapshot get(UUID missionUuid) {
+        Entry entry = track(missionUuid);
+        Snapshot snapshot = entry.snapshot;
+        if (snapshot != null) {
+            hitCounter.increment();
+            return snapshot;
+        }
+
+        try {
+            return poll(missionUuid, entry).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts polling the mission job, or polls it again right away if it is already tracked. Called
+     * when a job is created or cancelled, so the first readers find a fresh state.
+     */
+    public void refresh(UUID missionUuid) {
+        Entry entry = track(missionUuid);
+        entry.interval = missionConfig.status().minPollInterval().toMillis();
+        entry.nextPollAt = 0;
+        entry.polling = true;
+    }
+
+    private Entry track(UUID missionUuid) {
+        Entry entry = entries.computeIfAbsent(missionUuid, key -> new Entry(missionConfig.status().minPollInterval().toMillis()));
+        entry.lastReadAt = System.currentTimeMillis();
+        return entry;
+    }
+
+    @Scheduled(every = "1s", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void pollDueJobs() {
+        long now = System.currentTimeMillis();
+        long retention = missionConfig.status().retention().toMillis();
+        int budget = missionConfig.status().maxPollsPerTick();
+
+        entries.entrySet().removeIf(mission -> mission.getValue().lastReadAt < now - retention);
+
+        for (Map.Entry<UUID, Entry> mission : entries.entrySet()) {
+            Entry entry = mission.getValue();
+            if (budget == 0) {
+                break;
+            }
+            if (!entry.polling || entry.inFlight != null || entry.nextPollAt > now) {
+                continue;
+            }
+
+            budget--;
+            poll(mission.getKey(), entry);
+        }
+    }
+
+    private CompletableFuture<Snapshot> poll(UUID missionUuid, Entry entry) {
+        synchronized (entry) {
+            if (entry.inFlight != null) {
+                return entry.inFlight;
+            }
+
+            String jobId = missionUuid.toString();
+            pollCounter.increment();
+
+            CompletableFuture<Snapshot> fetch =
+                    iotManager
+                            .describeJobAsync(jobId)
+                            .thenCombine(iotManager.listJobExecutionsForJobAsync(jobId), MissionStatusCache::toSnapshot)
+                            .exceptionallyCompose(ex -> {
+                                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                                return cause instanceof ResourceNotFoundException
+                                        ? CompletableFuture.completedFuture(new Snapshot(null, Map.of(), now()))
+                                        : CompletableFuture.failedFuture(cause);
+                            });
+
+            entry.inFlight = fetch;
+            fetch.whenComplete((snapshot, ex) -> {
+                long now = System.currentTimeMillis();
+
+                if (ex != null) {
+                    logger.warnf("Cannot refresh status of mission %s: %s", missionUuid, ex.getMessage());
+                } else {
+                    long min = missionConfig.status().minPollInterval().toMillis();
+                    long max = missionConfig.status().maxPollInterval().toMillis();
+                    entry.interval = snapshot.sameState(entry.snapshot) ? Math.min(max, entry.interval * 2) : min;
+                    entry.polling = !snapshot.isFinal();
+                    entry.snapshot = snapshot;
+                }
+
+                entry.nextPollAt = now + entry.interval;
+                entry.inFlight = null;
+            });
+
+            return fetch;
+        }
+    }
+
+    private static Snapshot toSnapshot(Job job, List<JobExecutionSummaryForJob> executions) {
+        Map<String, JobExecutionSummary> byThing = new HashMap<>();
+        for (JobExecutionSummaryForJob execution : executions) {
+            String thingArn = execution.thingArn();
+            byThing.put(thingArn.substring(thingArn.lastIndexOf('/') + 1), execution.jobExecutionSummary());
+        }
+
+        return new Snapshot(job, Map.copyOf(byThing), now());
+    }
+
+    private static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    private static final class Entry {
+        private volatile Snapshot snapshot;
+        private volatile CompletableFuture<Snapshot> inFlight;
+        private volatile boolean polling = true;
+        private volatile long interval;
+        private volatile long nextPollAt;
+        private volatile long lastReadAt;
+
+        Entry(long interval) {
+            this.interval = interval;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Models.PolygonPoint2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outpost polygon compiled for fast point-in-polygon tests. Points outside the bounding box are
+ * rejected immediately, then a raster grid over the box answers for every cell no edge passes
+ * through. Only points in boundary cells fall back to an exact crossing test, limited to the
+ * edges overlapping the grid row of the point. Immutable and safe to share between threads.
+ *
+ * <p>Polygon points follow the WKT order of the outposts table, x is the longitude and y the
+ * latitude.
+ */
+public final class PreparedGeofence {
+    private static final byte OUTSIDE = 0;
+    private static final byte INSIDE = 1;
+    private static final byte BOUNDARY = 2;
+
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+    private final int gridSize;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final byte[] cells;
+
+    /** Edge coordinates, edge i goes from (x1[i], y1[i]) to (x2[i], y2[i]) */
+    private final double[] x1;
+    private final double[] y1;
+    private final double[] x2;
+    private final double[] y2;
+
+    /** Indexes of the edges overlapping each grid row */
+    private final int[][] rowEdges;
+
+    private PreparedGeofence(List<PolygonPoint2D> points, int gridSize) {
+        int edgeCount = points.size();
+        x1 = new double[edgeCount];
+        y1 = new double[edgeCount];
+        x2 = new double[edgeCount];
+        y2 = new double[edgeCount];
+
+        double boxMinX = Double.POSITIVE_INFINITY;
+        double boxMinY = Double.POSITIVE_INFINITY;
+        double boxMaxX = Double.NEGATIVE_INFINITY;
+        double boxMaxY = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < edgeCount; i++) {
+            PolygonPoint2D from = points.get(i);
+            PolygonPoint2D to = points.get((i + 1) % edgeCount);
+            x1[i] = from.x();
+            y1[i] = from.y();
+            x2[i] = to.x();
+            y2[i] = to.y();
+
+            boxMinX = Math.min(boxMinX, from.x());
+            boxMinY = Math.min(boxMinY, from.y());
+            boxMaxX = Math.max(boxMaxX, from.x());
+            boxMaxY = Math.max(boxMaxY, from.y());
+        }
+
+        minX = boxMinX;
+        minY = boxMinY;
+        maxX = boxMaxX;
+        maxY = boxMaxY;
+        this.gridSize = gridSize;
+        cellWidth = Math.max((maxX - minX) / gridSize, Double.MIN_NORMAL);
+        cellHeight = Math.max((maxY - minY) / gridSize, Double.MIN_NORMAL);
+
+        List<List<Integer>> edgesPerRow = new ArrayList<>(gridSize);
+        for (int row = 0; row < gridSize; row++) {
+            edgesPerRow.add(new ArrayList<>());
+        }
+
+        cells = new byte[gridSize * gridSize];
+        for (int i = 0; i < edgeCount; i++) {
+            int fromRow = row(Math.min(y1[i], y2[i]));
+            int toRow = row(Math.max(y1[i], y2[i]));
+            int fromColumn = column(Math.min(x1[i], x2[i]));
+            int toColumn = column(Math.max(x1[i], x2[i]));
+
+            for (int row = fromRow; row <= toRow; row++) {
+                edgesPerRow.get(row).add(i);
+                // Conservative, every cell of the edge bounding box is treated as boundary
+                for (int column = fromColumn; column <= toColumn; column++) {
+                    cells[row * gridSize + column] = BOUNDARY;
+                }
+            }
+        }
+
+        rowEdges = new int[gridSize][];
+        for (int row = 0; row < gridSize; row++) {
+            rowEdges[row] = edgesPerRow.get(row).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // No edge crosses the remaining cells, so their center decides for the whole cell
+        for (int row = 0; row < gridSize; row++) {
+            for (int column = 0; column < gridSize; column++) {
+                int cell = row * gridSize + column;
+                if (cells[cell] != BOUNDARY) {
+                    double x = minX + (column + 0.5) * cellWidth;
+                    double y = minY + (row + 0.5) * cellHeight;
+                    cells[cell] = crosses(x, y, row) ? INSIDE : OUTSIDE;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param points Polygon vertices, the ring may be closed (last point equal to the first) or not
+     * @param gridSize Number of raster rows and columns over the bounding box
+     * @return The compiled polygon, or null if it has fewer than three vertices
+     */
+    public static PreparedGeofence compile(List<PolygonPoint2D> points, int gridSize) {
+        if (points == null) {
+            return null;
+        }
+
+        List<PolygonPoint2D> ring = points;
+        if (ring.size() > 1 && ring.get(0).equals(ring.get(ring.size() - 1))) {
+            ring = ring.subList(0, ring.size() - 1);
+        }
+
+        return ring.size() < 3 ? null : new PreparedGeofence(ring, gridSize);
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        double x = longitude;
+        double y = latitude;
+
+        if (x < minX || x > maxX || y < minY || y > maxY) {
+            return false;
+        }
+
+        int row = row(y);
+        return switch (cells[row * gridSize + column(x)]) {
+            case INSIDE -> true;
+            case OUTSIDE -> false;
+            default -> crosses(x, y, row);
+        };
+    }
+
+    /** Even-odd rule with a ray cast towards +x, using only the edges of the given row */
+    private boolean crosses(double x, double y, int row) {
+        boolean inside = false;
+
+        for (int i : rowEdges[row]) {
+            if ((y1[i] > y) != (y2[i] > y)) {
+                double crossingX = x1[i] + (y - y1[i]) * (x2[i] - x1[i]) / (y2[i] - y1[i]);
+                if (x < crossingX) {
+                    inside = !inside;
+                }
+            }
+        }
+
+        return inside;
+    }
+
+    private int row(double y) {
+        return Math.min(gridSize - 1, Math.max(0, (int) ((y - minY) / cellHeight)));
+    }
+
+    private int column(double x) {
+        return Math.min(gridSize - 1, Math.max(0, (int) ((x - minX) / cellWidth)));
+    }
+}
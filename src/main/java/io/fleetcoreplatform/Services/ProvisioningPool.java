@@ -0,0 +1,292 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.ProvisioningConfig;
+import io.fleetcoreplatform.Managers.Database.DbModels.DbPooledResource;
+import io.fleetcoreplatform.Managers.Database.Mappers.ProvisioningPoolMapper;
+import io.fleetcoreplatform.Managers.IoTCore.IotManager;
+import io.fleetcoreplatform.Managers.Kinesis.KinesisVideoManager;
+import io.fleetcoreplatform.Models.IoTCertContainer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.jboss.logging.Logger;
+
+/**
+ * Warm pool of inactive certificates and unassigned signaling channels, the two slowest steps of a
+ * registration. A claimed entry is replaced in the background right away. Off unless {@code
+ * provisioning.pool.enabled} is set.
+ *
+ * <p>Pooled channels are named with a fresh UUID which becomes the UUID of the drone claiming it,
+ * so the channel name still matches the thing name. Pooled private keys only live in memory, the
+ * remaining entries are deleted on shutdown.
+ *
+ * <p>Shutdown hooks do not run on a crash, so every entry is also recorded in the
+ * provisioning_pool table with a lease the instance renews on each top-up. Every instance sweeps
+ * the entries whose lease ran out and deletes their resources, a stopped instance leaks them for
+ * at most one lease. A channel is recorded before it is created, a certificate right after, so a
+ * crash in between leaks at most the certificates being created.
+ */
+@Startup
+@ApplicationScoped
+public class ProvisioningPool {
+    private static final String CERTIFICATE = "certificate";
+    private static final String SIGNALING_CHANNEL = "signaling_channel";
+    /** Owner of entries put back after a failed sweep, never renewed */
+    private static final UUID ORPHAN = new UUID(0, 0);
+
+    @Inject IotManager iotManager;
+    @Inject KinesisVideoManager kinesisVideoManager;
+    @Inject ProvisioningPoolMapper provisioningPoolMapper;
+    @Inject ProvisioningConfig provisioningConfig;
+    @Inject MeterRegistry registry;
+    @Inject Logger logger;
+
+    private final UUID instanceId = UUID.randomUUID();
+    private final Queue<IoTCertContainer> certificates = new ConcurrentLinkedQueue<>();
+    private final Queue<UUID> channels = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCertificates = new AtomicInteger();
+    private final AtomicInteger pendingChannels = new AtomicInteger();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (!provisioningConfig.pool().enabled()) {
+            return;
+        }
+
+        registry.gauge("drone.provisioning.pool.size", Tags.of("resource", CERTIFICATE), certificates, Queue::size);
+        registry.gauge("drone.provisioning.pool.size", Tags.of("resource", SIGNALING_CHANNEL), channels, Queue::size);
+
+        running = true;
+        scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().name("provisioning-pool").daemon().factory());
+
+        long refill = provisioningConfig.pool().refillInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::topUp, 0, refill, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        scheduler.shutdownNow();
+
+        try {
+            release().get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            logger.warnf("Cannot delete every unused pooled resource, they are swept once their lease runs out: %s", e.getMessage());
+        }
+    }
+
+    /** Deletes every entry left in the pool */
+    private CompletableFuture<Void> release() {
+        List<CompletableFuture<Void>> deletions = new ArrayList<>();
+        for (IoTCertContainer certificate; (certificate = certificates.poll()) != null; ) {
+            String certificateARN = certificate.certificateARN();
+            deletions.add(delete(CERTIFICATE, certificateARN).thenRun(() -> provisioningPoolMapper.remove(CERTIFICATE, certificateARN)));
+        }
+        for (UUID channel; (channel = channels.poll()) != null; ) {
+            String channelName = channel.toString();
+            deletions.add(delete(SIGNALING_CHANNEL, channelName).thenRun(() -> provisioningPoolMapper.remove(SIGNALING_CHANNEL, channelName)));
+        }
+
+        return CompletableFuture.allOf(deletions.toArray(CompletableFuture[]::new));
+    }
+
+    /** @return An inactive certificate, or null if the pool is empty or disabled */
+    public IoTCertContainer claimCertificate() {
+        return claim(certificates, CERTIFICATE, IoTCertContainer::certificateARN);
+    }
+
+    /**
+     * @return The name of an existing signaling channel, to be used as the drone UUID, or null if
+     *     the pool is empty or disabled
+     */
+    public UUID claimChannel() {
+        return claim(channels, SIGNALING_CHANNEL, UUID::toString);
+    }
+
+    private <T> T claim(Queue<T> pool, String resource, Function<T, String> id) {
+        if (!running) {
+            return null;
+        }
+
+        T entry = take(pool, resource, id);
+        registry.counter("drone.provisioning.pool.claims", "resource", resource, "outcome", entry == null ? "miss" : "hit")
+                .increment();
+
+        try {
+            scheduler.execute(this::topUp);
+        } catch (Exception e) {
+            // Scheduler is shutting down
+        }
+
+        return entry;
+    }
+
+    /** Removes the entry from the ledger first, so a sweep can no longer delete it once in use */
+    private <T> T take(Queue<T> pool, String resource, Function<T, String> id) {
+        for (T entry; (entry = pool.poll()) != null; ) {
+            try {
+                if (provisioningPoolMapper.remove(resource, id.apply(entry)) > 0) {
+                    return entry;
+                }
+                logger.warnf("Pooled %s %s outlived its lease and was swept, skipping it", resource, id.apply(entry));
+            } catch (Exception e) {
+                pool.add(entry);
+                logger.warnf("Cannot claim pooled %s: %s", resource, e.getMessage());
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    private void topUp() {
+        try {
+            provisioningPoolMapper.renew(instanceId, leaseSeconds());
+        } catch (Exception e) {
+            logger.warnf("Cannot renew the lease of pooled resources: %s", e.getMessage());
+        }
+
+        sweep();
+
+        fill(certificates, pendingCertificates, CERTIFICATE, this::createCertificate);
+        fill(channels, pendingChannels, SIGNALING_CHANNEL, this::createChannel);
+    }
+
+    /** Deletes the resources of every ledger entry whose lease ran out, from any instance */
+    private void sweep() {
+        List<DbPooledResource> expired;
+        try {
+            expired = provisioningPoolMapper.takeExpired();
+        } catch (Exception e) {
+            logger.warnf("Cannot sweep expired pooled resources: %s", e.getMessage());
+            return;
+        }
+
+        for (DbPooledResource entry : expired) {
+            delete(entry.getResource(), entry.getResource_id()).whenComplete((ignored, ex) -> {
+                registry.counter("drone.provisioning.pool.swept", "resource", entry.getResource(), "outcome", ex == null ? "success" : "failure")
+                        .increment();
+                if (ex == null) {
+                    return;
+                }
+
+                logger.warnf("Cannot delete expired pooled %s %s: %s", entry.getResource(), entry.getResource_id(), ex.getMessage());
+                try {
+                    // Expired right away, the next sweep tries again
+                    provisioningPoolMapper.insert(entry.getResource(), entry.getResource_id(), ORPHAN, 0);
+                } catch (Exception e) {
+                    logger.errorf("Lost track of pooled %s %s: %s", entry.getResource(), entry.getResource_id(), e.getMessage());
+                }
+            });
+        }
+    }
+
+    private CompletableFuture<IoTCertContainer> createCertificate() {
+        return iotManager.generateCertificateAsync().thenCompose(certificate -> {
+            try {
+                provisioningPoolMapper.insert(CERTIFICATE, certificate.certificateARN(), instanceId, leaseSeconds());
+                return CompletableFuture.completedFuture(certificate);
+            } catch (Exception e) {
+                // Never pool a certificate the ledger does not know about
+                return iotManager.deleteCertificateAsync(certificate.certificateARN())
+                        .thenCompose(ignored -> CompletableFuture.failedFuture(e));
+            }
+        });
+    }
+
+    /** Recorded before it is created, the name is known upfront */
+    private CompletableFuture<UUID> createChannel() {
+        UUID channel = UUID.randomUUID();
+        provisioningPoolMapper.insert(SIGNALING_CHANNEL, channel.toString(), instanceId, leaseSeconds());
+
+        return kinesisVideoManager.createSignalingChannelAsync(channel).whenComplete((created, ex) -> {
+            if (ex != null) {
+                provisioningPoolMapper.remove(SIGNALING_CHANNEL, channel.toString());
+            }
+        });
+    }
+
+    /** A resource that no longer exists counts as deleted */
+    private CompletableFuture<Void> delete(String resource, String id) {
+        CompletableFuture<Void> deletion;
+        try {
+            deletion = CERTIFICATE.equals(resource)
+                    ? iotManager.deleteCertificateAsync(id)
+                    : kinesisVideoManager.deleteSignalingChannelAsync(UUID.fromString(id));
+        } catch (Exception e) {
+            deletion = CompletableFuture.failedFuture(e);
+        }
+
+        return deletion.exceptionallyCompose(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            return cause instanceof software.amazon.awssdk.services.iot.model.ResourceNotFoundException
+                            || cause instanceof software.amazon.awssdk.services.kinesisvideo.model.ResourceNotFoundException
+                    ? CompletableFuture.completedFuture(null)
+                    : CompletableFuture.failedFuture(cause);
+        });
+    }
+
+    private long leaseSeconds() {
+        return provisioningConfig.pool().lease().toSeconds();
+    }
+
+    /** Starts as many creations as needed to reach the pool size, counting those still running */
+    private <T> void fill(Queue<T> pool, AtomicInteger pending, String resource, Supplier<CompletableFuture<T>> create) {
+        int size = provisioningConfig.pool().size();
+
+        while (running && pool.size() + pending.get() < size) {
+            pending.incrementAndGet();
+
+            CompletableFuture<T> creation;
+            try {
+                creation = create.get();
+            } catch (Exception e) {
+                creation = CompletableFuture.failedFuture(e);
+            }
+
+            creation.whenComplete((entry, ex) -> {
+                pending.decrementAndGet();
+
+                if (ex != null) {
+                    logger.warnf("Cannot pre-provision %s: %s", resource, ex.getMessage());
+                } else {
+                    pool.add(entry);
+                    // Completed after shutdown started, release it like the rest of the pool
+                    if (!running) {
+                        release();
+                    }
+                }
+            });
+
+            // Stop on a synchronous failure, the next refill retries
+            if (creation.isCompletedExceptionally()) {
+                return;
+            }
+        }
+    }
+}
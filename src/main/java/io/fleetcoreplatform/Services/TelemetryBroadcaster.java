@@ -0,0 +1,347 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.TelemetryConfig;
+import io.fleetcoreplatform.Models.DroneTelemetryModel;
+import io.fleetcoreplatform.Models.GeofenceBreachEvent;
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import io.fleetcoreplatform.Models.TelemetryUpdateModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.jboss.logging.Logger;
+
+/**
+ * Pushes live telemetry to Server-Sent Events subscribers of a group or an outpost.
+ *
+ * <p>Every subscriber keeps only the latest pending telemetry per drone. Sending is asynchronous
+ * and a subscriber has at most one event in flight, so a slow client receives the newest state
+ * once it catches up instead of an ever growing backlog. The ingestion workers only replace map
+ * entries and never wait on a client.
+ *
+ * <p>Geofence breaches and returns of a drone are relayed to its subscribers as separate events,
+ * they are queued and never coalesced.
+ */
+@ApplicationScoped
+public class TelemetryBroadcaster implements TelemetryListener {
+    private static final String EVENT_NAME = "telemetry";
+    private static final String GEOFENCE_EVENT_NAME = "geofence";
+
+    @Inject TelemetryStateStore telemetryStateStore;
+    @Inject TelemetryConfig telemetryConfig;
+    @Inject MeterRegistry registry;
+    @Inject Logger logger;
+
+    private final ConcurrentHashMap<UUID, Set<Subscription>> subscriptionsByDrone =
+            new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    /** One permit per subscriber slot, taken before registering and returned on close */
+    private Semaphore slots;
+    private ScheduledExecutorService scheduler;
+    private long minIntervalMillis;
+
+    private Counter sentCounter;
+    private Counter coalescedCounter;
+
+    @PostConstruct
+    void start() {
+        minIntervalMillis = telemetryConfig.live().minInterval().toMillis();
+        slots = new Semaphore(telemetryConfig.live().maxSubscribers());
+        // Two threads so the membership queries of the heartbeat never hold back pending pushes
+        scheduler =
+                Executors.newScheduledThreadPool(
+                        2, Thread.ofPlatform().name("telemetry-broadcaster-", 0).daemon().factory());
+
+        sentCounter = registry.counter("telemetry.live.events.sent");
+        coalescedCounter = registry.counter("telemetry.live.updates.coalesced");
+        registry.gauge("telemetry.live.subscribers", subscriptions, Set::size);
+
+        long heartbeat = telemetryConfig.live().heartbeatInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+        subscriptions.forEach(Subscription::close);
+    }
+
+    /**
+     * Registers the sink for live updates of the drones returned by members. Members is called
+     * again on every heartbeat, so drones joining or leaving the group are picked up without a
+     * reconnect. It is called once per heartbeat for all the subscriptions sharing the same key.
+     *
+     * @param membersKey Identifies the member query, such as the group and coordinator
+     * @return false if the subscriber limit is reached, the sink is left untouched
+     */
+    public boolean subscribe(String membersKey, Supplier<List<UUID>> members, SseEventSink sink, Sse sse) {
+        if (!slots.tryAcquire()) {
+            return false;
+        }
+
+        Set<UUID> current;
+        try {
+            current = Set.copyOf(members.get());
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+
+        Subscription subscription = new Subscription(membersKey, members, sink, sse);
+        subscriptions.add(subscription);
+        subscription.updateMembers(current);
+
+        // Start every client from the current state instead of waiting for the next frames
+        for (UUID droneUuid : subscription.drones) {
+            TelemetryStateStore.Entry entry = telemetryStateStore.get(droneUuid);
+            if (entry != null) {
+                subscription.offer(droneUuid, entry.frame().toModel());
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public void onTelemetry(UUID droneUuid, TelemetryFrame frame) {
+        Set<Subscription> subscribers = subscriptionsByDrone.get(droneUuid);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        DroneTelemetryModel model = frame.toModel();
+        for (Subscription subscription : subscribers) {
+            subscription.offer(droneUuid, model);
+        }
+    }
+
+    void onGeofenceBreach(@ObservesAsync GeofenceBreachEvent event) {
+        Set<Subscription> subscribers = subscriptionsByDrone.get(event.drone_uuid());
+        if (subscribers == null) {
+            return;
+        }
+
+        for (Subscription subscription : subscribers) {
+            subscription.alert(event);
+        }
+    }
+
+    private void heartbeat() {
+        // Subscribers of the same group or outpost share one membership query
+        Map<String, Set<UUID>> members = new HashMap<>();
+
+        for (Subscription subscription : subscriptions) {
+            try {
+                subscription.heartbeat(members);
+            } catch (Exception e) {
+                logger.warnf("Dropping telemetry subscriber: %s", e.getMessage());
+                subscription.close();
+            }
+        }
+    }
+
+    private final class Subscription {
+        private final String membersKey;
+        private final Supplier<List<UUID>> members;
+        private final SseEventSink sink;
+        private final Sse sse;
+        private final ConcurrentHashMap<UUID, DroneTelemetryModel> pending = new ConcurrentHashMap<>();
+        private final Queue<GeofenceBreachEvent> alerts = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile Set<UUID> drones = Set.of();
+        private volatile long lastSentAt;
+        private boolean closed;
+
+        Subscription(String membersKey, Supplier<List<UUID>> members, SseEventSink sink, Sse sse) {
+            this.membersKey = membersKey;
+            this.members = members;
+            this.sink = sink;
+            this.sse = sse;
+        }
+
+        void offer(UUID droneUuid, DroneTelemetryModel model) {
+            if (pending.put(droneUuid, model) != null) {
+                coalescedCounter.increment();
+            }
+
+            scheduleFlush();
+        }
+
+        void alert(GeofenceBreachEvent event) {
+            alerts.add(event);
+            scheduleFlush();
+        }
+
+        private void scheduleFlush() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+
+            long delay = Math.max(0, lastSentAt + minIntervalMillis - System.currentTimeMillis());
+            try {
+                scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                // Scheduler is shutting down
+                scheduled.set(false);
+            }
+        }
+
+        private void flush() {
+            if (sink.isClosed()) {
+                close();
+                return;
+            }
+
+            // One event per flush, alerts go first and the telemetry follows on the next flush
+            GeofenceBreachEvent alert = alerts.poll();
+            if (alert != null) {
+                send(sse.newEventBuilder()
+                        .name(GEOFENCE_EVENT_NAME)
+                        .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                        .data(alert)
+                        .build());
+                return;
+            }
+
+            List<TelemetryUpdateModel> updates = new ArrayList<>(pending.size());
+            for (UUID droneUuid : pending.keySet()) {
+                DroneTelemetryModel model = pending.remove(droneUuid);
+                if (model != null) {
+                    updates.add(new TelemetryUpdateModel(droneUuid, model));
+                }
+            }
+
+            if (updates.isEmpty()) {
+                release();
+                return;
+            }
+
+            OutboundSseEvent event =
+                    sse.newEventBuilder()
+                            .name(EVENT_NAME)
+                            .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                            .data(updates)
+                            .build();
+            send(event);
+        }
+
+        private void send(OutboundSseEvent event) {
+            lastSentAt = System.currentTimeMillis();
+            sink.send(event)
+                    .whenComplete(
+                            (ignored, error) -> {
+                                if (error != null) {
+                                    close();
+                                    return;
+                                }
+
+                                sentCounter.increment();
+                                release();
+                            });
+        }
+
+        /** Lets the next offer schedule a flush, and catches updates that raced with this one */
+        private void release() {
+            scheduled.set(false);
+            if (!pending.isEmpty() || !alerts.isEmpty()) {
+                scheduleFlush();
+            }
+        }
+
+        void heartbeat(Map<String, Set<UUID>> resolved) {
+            if (sink.isClosed()) {
+                close();
+                return;
+            }
+
+            Set<UUID> current = resolved.get(membersKey);
+            if (current == null) {
+                current = Set.copyOf(members.get());
+                resolved.put(membersKey, current);
+            }
+
+            updateMembers(current);
+            sink.send(sse.newEventBuilder().comment("keep-alive").build())
+                    .whenComplete(
+                            (ignored, error) -> {
+                                if (error != null) {
+                                    close();
+                                }
+                            });
+        }
+
+        /** Skipped once closed, the members may have been queried while close ran */
+        private synchronized void updateMembers(Set<UUID> current) {
+            if (closed) {
+                return;
+            }
+
+            Set<UUID> removed = new HashSet<>(drones);
+            removed.removeAll(current);
+
+            for (UUID droneUuid : removed) {
+                unregister(droneUuid);
+                pending.remove(droneUuid);
+            }
+            for (UUID droneUuid : current) {
+                subscriptionsByDrone
+                        .computeIfAbsent(droneUuid, key -> ConcurrentHashMap.newKeySet())
+                        .add(this);
+            }
+
+            drones = current;
+        }
+
+        private void unregister(UUID droneUuid) {
+            subscriptionsByDrone.computeIfPresent(
+                    droneUuid,
+                    (key, subscribers) -> {
+                        subscribers.remove(this);
+                        return subscribers.isEmpty() ? null : subscribers;
+                    });
+        }
+
+        synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscriptions.remove(this);
+            slots.release();
+
+            drones.forEach(this::unregister);
+            drones = Set.of();
+            pending.clear();
+            alerts.clear();
+
+            try {
+                sink.close();
+            } catch (Exception ignored) {
+                // Already closed by the client
+            }
+        }
+    }
+}
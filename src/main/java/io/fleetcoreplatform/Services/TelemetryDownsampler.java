@@ -0,0 +1,147 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Managers.Database.DbModels.DbTelemetryHistory;
+import io.fleetcoreplatform.Models.TelemetryHistoryBucket;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+/**
+ * Reduces a streamed telemetry history range to at most {@code resolution} fixed width buckets
+ * holding min/max/avg of every value. Memory only depends on the resolution, never on the number
+ * of rows read. Not thread-safe, use one instance per query.
+ */
+public class TelemetryDownsampler implements ResultHandler<DbTelemetryHistory> {
+    private final long from;
+    private final long to;
+    private final long bucketWidth;
+    private final int resolution;
+
+    private final int[] samples;
+    private final Accumulator latitude;
+    private final Accumulator longitude;
+    private final Accumulator altitude;
+    private final Accumulator groundSpeed;
+    private final Accumulator batteryVoltage;
+    private final Accumulator batteryRemaining;
+    private long rawSamples;
+
+    public TelemetryDownsampler(Instant from, Instant to, int resolution) {
+        this.from = from.toEpochMilli();
+        this.to = to.toEpochMilli();
+        this.bucketWidth = Math.max(1, Math.ceilDiv(this.to - this.from, resolution));
+        this.resolution = (int) Math.min(resolution, Math.ceilDiv(this.to - this.from, bucketWidth));
+
+        samples = new int[this.resolution];
+        latitude = new Accumulator(this.resolution);
+        longitude = new Accumulator(this.resolution);
+        altitude = new Accumulator(this.resolution);
+        groundSpeed = new Accumulator(this.resolution);
+        batteryVoltage = new Accumulator(this.resolution);
+        batteryRemaining = new Accumulator(this.resolution);
+    }
+
+    @Override
+    public void handleResult(ResultContext<? extends DbTelemetryHistory> context) {
+        DbTelemetryHistory row = context.getResultObject();
+        if (row == null || row.getRecorded_at() == null) {
+            return;
+        }
+
+        long offset = row.getRecorded_at().getTime() - from;
+        int bucket = (int) Math.min(Math.max(offset / bucketWidth, 0), resolution - 1);
+
+        samples[bucket]++;
+        rawSamples++;
+
+        // Only average positions that came as a pair, a lone coordinate would skew the track
+        if (row.getLatitude() != null && row.getLongitude() != null) {
+            latitude.add(bucket, row.getLatitude());
+            longitude.add(bucket, row.getLongitude());
+        }
+        altitude.add(bucket, row.getRelative_altitude());
+        groundSpeed.add(bucket, row.getGround_speed());
+        batteryVoltage.add(bucket, row.getBattery_voltage());
+        batteryRemaining.add(bucket, row.getBattery_remaining());
+    }
+
+    public long getBucketWidthMillis() {
+        return bucketWidth;
+    }
+
+    public long getRawSamples() {
+        return rawSamples;
+    }
+
+    /**
+     * @return The non-empty buckets in chronological order
+     */
+    public List<TelemetryHistoryBucket> getBuckets() {
+        List<TelemetryHistoryBucket> buckets = new ArrayList<>();
+
+        for (int i = 0; i < resolution; i++) {
+            if (samples[i] == 0) {
+                continue;
+            }
+
+            long start = from + i * bucketWidth;
+            buckets.add(
+                    new TelemetryHistoryBucket(
+                            new Timestamp(start),
+                            new Timestamp(Math.min(start + bucketWidth, to)),
+                            samples[i],
+                            latitude.avg(i),
+                            longitude.avg(i),
+                            altitude.range(i),
+                            groundSpeed.range(i),
+                            batteryVoltage.range(i),
+                            batteryRemaining.range(i)));
+        }
+
+        return buckets;
+    }
+
+    /** Running min/max/sum of one value for every bucket, kept in primitive arrays */
+    private static final class Accumulator {
+        private final double[] min;
+        private final double[] max;
+        private final double[] sum;
+        private final int[] count;
+
+        Accumulator(int size) {
+            min = new double[size];
+            max = new double[size];
+            sum = new double[size];
+            count = new int[size];
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(int bucket, Double value) {
+            if (value == null || value.isNaN()) {
+                return;
+            }
+
+            min[bucket] = Math.min(min[bucket], value);
+            max[bucket] = Math.max(max[bucket], value);
+            sum[bucket] += value;
+            count[bucket]++;
+        }
+
+        Double avg(int bucket) {
+            return count[bucket] == 0 ? null : sum[bucket] / count[bucket];
+        }
+
+        TelemetryHistoryBucket.Range range(int bucket) {
+            if (count[bucket] == 0) {
+                return null;
+            }
+
+            return new TelemetryHistoryBucket.Range(min[bucket], max[bucket], avg(bucket));
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.TelemetryConfig;
+import io.fleetcoreplatform.Managers.SQS.SqsManager;
+import io.fleetcoreplatform.Managers.SQS.TelemetryFrameDecoder;
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+/**
+ * Continuously drains the telemetry queue and hands every frame to the registered {@link
+ * TelemetryListener}s, so request handlers never have to call SQS themselves.
+ *
+ * <p>Receivers keep several long polls open at once and push messages into a bounded buffer.
+ * When the workers fall behind the buffer fills up, and receivers block instead of fetching more
+ * messages. Processed messages are acknowledged with DeleteMessageBatch in groups of 10.
+ */
+@Startup
+@ApplicationScoped
+public class TelemetryIngestService {
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long UNMATCHED_REPORT_INTERVAL_MILLIS = 60_000;
+
+    @Inject SqsManager sqsManager;
+    @Inject DroneNameCache droneNameCache;
+    @Inject TelemetryConfig telemetryConfig;
+    @Inject @Any Instance<TelemetryListener> listeners;
+    @Inject MeterRegistry registry;
+    @Inject Logger logger;
+
+    private volatile boolean running;
+    private BlockingQueue<Message> buffer;
+    private ExecutorService receiverPool;
+    private ExecutorService workerPool;
+    private List<TelemetryListener> resolvedListeners;
+    private final AtomicLong lastUnmatchedReportAt = new AtomicLong();
+
+    private Counter receivedCounter;
+    private Counter processedCounter;
+    private Counter failedCounter;
+    private Counter unmatchedCounter;
+    private Counter ackFailedCounter;
+    private Timer lagTimer;
+
+    @PostConstruct
+    void start() {
+        if (!telemetryConfig.consumer().enabled()) {
+            logger.info("Telemetry consumer is disabled");
+            return;
+        }
+
+        var consumerConfig = telemetryConfig.consumer();
+
+        buffer = new ArrayBlockingQueue<>(consumerConfig.bufferCapacity());
+        resolvedListeners = listeners.stream().toList();
+
+        receivedCounter = registry.counter("telemetry.messages.received");
+        processedCounter = registry.counter("telemetry.messages.processed");
+        failedCounter = registry.counter("telemetry.messages.failed");
+        unmatchedCounter = registry.counter("telemetry.messages.unmatched");
+        ackFailedCounter = registry.counter("telemetry.messages.ack.failed");
+        lagTimer =
+                Timer.builder("telemetry.ingest.lag")
+                        .description("Time between SQS accepting a frame and its dispatch")
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(registry);
+        registry.gauge("telemetry.buffer.size", buffer, BlockingQueue::size);
+
+        running = true;
+
+        receiverPool =
+                Executors.newFixedThreadPool(
+                        consumerConfig.receivers(),
+                        Thread.ofPlatform().name("telemetry-receiver-", 0).daemon().factory());
+        for (int i = 0; i < consumerConfig.receivers(); i++) {
+            receiverPool.submit(this::receive);
+        }
+
+        workerPool =
+                Executors.newFixedThreadPool(
+                        consumerConfig.workers(),
+                        Thread.ofPlatform().name("telemetry-worker-", 0).daemon().factory());
+        for (int i = 0; i < consumerConfig.workers(); i++) {
+            workerPool.submit(this::process);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (receiverPool != null) {
+            receiverPool.shutdownNow();
+        }
+        if (workerPool != null) {
+            workerPool.shutdown();
+            try {
+                // Give the workers a chance to acknowledge what was already received
+                if (!workerPool.awaitTermination(5, TimeUnit.SECONDS)) {
+                    workerPool.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                workerPool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void receive() {
+        long backoff = 1_000;
+
+        while (running) {
+            try {
+                List<Message> messages =
+                        sqsManager
+                                .receiveTelemetry(telemetryConfig.consumer().waitTimeSeconds())
+                                .join();
+
+                receivedCounter.increment(messages.size());
+                for (Message message : messages) {
+                    // Blocks while the workers are behind, which pauses polling
+                    buffer.put(message);
+                }
+                backoff = 1_000;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+
+                logger.errorf("Error while polling telemetry queue, retrying in %d ms: %s", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void process() {
+        List<Message> batch = new ArrayList<>(SqsManager.MAX_BATCH_SIZE);
+        TelemetryFrameDecoder decoder = new TelemetryFrameDecoder();
+        TelemetryFrame frame = new TelemetryFrame();
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                Message first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                buffer.drainTo(batch, SqsManager.MAX_BATCH_SIZE - 1);
+
+                for (Message message : batch) {
+                    dispatch(message, decoder, frame);
+                }
+
+                List<Message> processed = List.copyOf(batch);
+                sqsManager
+                        .deleteMessages(processed)
+                        .whenComplete(
+                                (failed, ex) -> {
+                                    if (ex != null) {
+                                        logger.warnf("Failed to acknowledge telemetry batch: %s", ex.getMessage());
+                                        ackFailedCounter.increment(processed.size());
+                                    } else {
+                                        ackFailedCounter.increment(failed);
+                                    }
+                                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(Message message, TelemetryFrameDecoder decoder, TelemetryFrame frame) {
+        boolean decoded;
+
+        try {
+            decoded = decoder.decode(message.body(), frame);
+        } catch (Exception e) {
+            // Undecodable frames are still acknowledged, redelivering them cannot help
+            logger.debugf("Dropping invalid telemetry message %s: %s", message.messageId(), e.getMessage());
+            failedCounter.increment();
+            return;
+        }
+
+        // Drones report their IoT thing name, which is the drone UUID, older agents their name
+        if (!decoded && !resolveDeviceName(frame)) {
+            reportUnmatched(frame.getDeviceName());
+            return;
+        }
+        UUID droneUuid = frame.getDeviceUuid();
+
+        for (TelemetryListener listener : resolvedListeners) {
+            try {
+                listener.onTelemetry(droneUuid, frame);
+            } catch (Exception e) {
+                logger.errorf("Telemetry listener %s failed: %s", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+
+        processedCounter.increment();
+
+        String sentTimestamp = message.attributes().get(MessageSystemAttributeName.SENT_TIMESTAMP);
+        if (sentTimestamp != null) {
+            lagTimer.record(
+                    System.currentTimeMillis() - Long.parseLong(sentTimestamp), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Sets the UUID of the drone named in the frame, if there is one */
+    private boolean resolveDeviceName(TelemetryFrame frame) {
+        if (frame.getDeviceName() == null) {
+            return false;
+        }
+
+        UUID droneUuid;
+        try {
+            droneUuid = droneNameCache.resolve(frame.getDeviceName());
+        } catch (Exception e) {
+            logger.warnf("Cannot resolve drone %s: %s", frame.getDeviceName(), e.getMessage());
+            return false;
+        }
+
+        if (droneUuid == null) {
+            return false;
+        }
+
+        frame.setDevice(droneUuid.getMostSignificantBits(), droneUuid.getLeastSignificantBits());
+        return true;
+    }
+
+    /** Frames of unknown devices are acknowledged and dropped, reported at most once a minute */
+    private void reportUnmatched(String deviceName) {
+        unmatchedCounter.increment();
+
+        long now = System.currentTimeMillis();
+        long last = lastUnmatchedReportAt.get();
+        if (now - last >= UNMATCHED_REPORT_INTERVAL_MILLIS && lastUnmatchedReportAt.compareAndSet(last, now)) {
+            logger.warnf(
+                    "Dropping telemetry of unknown device %s, device_name must be a drone UUID or name"
+                            + " (see telemetry.messages.unmatched)",
+                    deviceName);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import java.util.UUID;
+
+/**
+ * Downstream consumer of the telemetry ingestion pipeline. Every {@code @ApplicationScoped} bean
+ * implementing this interface receives each decoded frame from {@link TelemetryIngestService}.
+ *
+ * <p>Listeners are called on the ingestion worker threads and must not block, otherwise they
+ * slow down the whole pipeline. The frame is reused for the next message once the call returns.
+ */
+public interface TelemetryListener {
+    void onTelemetry(UUID droneUuid, TelemetryFrame frame);
+}
@@ -0,0 +1,119 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import io.fleetcoreplatform.Models.TelemetryTrailModel;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Fixed-size history of the most recent frames of one drone, stored column by column in
+ * primitive arrays. Writers are serialized, readers never lock: they copy the window and then
+ * discard the slots that a concurrent writer may have overwritten while copying.
+ */
+public class TelemetryRingBuffer {
+    /** Bytes held per slot, six doubles and one long */
+    public static final int SLOT_BYTES = 7 * Long.BYTES;
+
+    private final int capacity;
+    private final long[] receivedAt;
+    private final double[] latitude;
+    private final double[] longitude;
+    private final double[] altitude;
+    private final double[] heading;
+    private final double[] groundSpeed;
+    private final double[] battery;
+
+    /** Sequence number of the next write, published after the slot is filled */
+    private volatile long head;
+
+    public TelemetryRingBuffer(int capacity) {
+        this.capacity = capacity;
+        receivedAt = new long[capacity];
+        latitude = new double[capacity];
+        longitude = new double[capacity];
+        altitude = new double[capacity];
+        heading = new double[capacity];
+        groundSpeed = new double[capacity];
+        battery = new double[capacity];
+    }
+
+    public synchronized void append(TelemetryFrame frame, long receivedAtMillis) {
+        long sequence = head;
+        int slot = (int) (sequence % capacity);
+
+        receivedAt[slot] = receivedAtMillis;
+        latitude[slot] = frame.getLatitude();
+        longitude[slot] = frame.getLongitude();
+        altitude[slot] = frame.getRelativeAltitude();
+        heading[slot] = frame.getHeading();
+        groundSpeed[slot] = frame.getGroundSpeed();
+        battery[slot] = frame.getBatteryRemaining();
+
+        head = sequence + 1;
+    }
+
+    /**
+     * Copies the frames received at or after sinceMillis, oldest first. Missing values are null
+     * in the JSON output (NaN in the arrays).
+     */
+    public TelemetryTrailModel snapshot(UUID droneUuid, long sinceMillis) {
+        long end = head;
+        long start = Math.max(0, end - capacity);
+        int size = (int) (end - start);
+
+        long[] copyReceivedAt = new long[size];
+        double[] copyLatitude = new double[size];
+        double[] copyLongitude = new double[size];
+        double[] copyAltitude = new double[size];
+        double[] copyHeading = new double[size];
+        double[] copyGroundSpeed = new double[size];
+        double[] copyBattery = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            int slot = (int) ((start + i) % capacity);
+            copyReceivedAt[i] = receivedAt[slot];
+            copyLatitude[i] = latitude[slot];
+            copyLongitude[i] = longitude[slot];
+            copyAltitude[i] = altitude[slot];
+            copyHeading[i] = heading[slot];
+            copyGroundSpeed[i] = groundSpeed[slot];
+            copyBattery[i] = battery[slot];
+        }
+
+        // A slot is rewritten while head equals its sequence plus capacity, drop everything a
+        // writer could have touched since the window was read
+        long firstValid = Math.max(start, head - capacity + 1);
+        int from = (int) Math.min(size, firstValid - start);
+        while (from < size && copyReceivedAt[from] < sinceMillis) {
+            from++;
+        }
+
+        return new TelemetryTrailModel(
+                droneUuid,
+                slice(copyReceivedAt, from),
+                slice(copyLatitude, from),
+                slice(copyLongitude, from),
+                slice(copyAltitude, from),
+                slice(copyHeading, from),
+                slice(copyGroundSpeed, from),
+                slice(copyBattery, from));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private static long[] slice(long[] values, int from) {
+        return from == 0 ? values : Arrays.copyOfRange(values, from, values.length);
+    }
+
+    private static Double[] slice(double[] values, int from) {
+        Double[] boxed = new Double[values.length - from];
+        for (int i = 0; i < boxed.length; i++) {
+            double value = values[from + i];
+            boxed[i] = Double.isNaN(value) ? null : value;
+        }
+
+        return boxed;
+    }
+}
@@ -0,0 +1,80 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Models.DroneTelemetryModel;
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Latest known telemetry of every drone, filled by {@link TelemetryIngestService} */
+@ApplicationScoped
+public class TelemetryStateStore implements TelemetryListener {
+    /**
+     * @param frame Private copy of the frame, never mutated after being stored
+     * @param receivedAt Epoch milliseconds when the server received the frame
+     */
+    public record Entry(TelemetryFrame frame, long receivedAt) {}
+
+    private final ConcurrentHashMap<UUID, Entry> latest = new ConcurrentHashMap<>();
+
+    /**
+     * Stores the telemetry as the current state of the drone, unless a newer frame was already
+     * received (SQS does not guarantee ordering)
+     */
+    @Override
+    public void onTelemetry(UUID droneUuid, TelemetryFrame frame) {
+        Entry current = latest.get(droneUuid);
+        if (current != null && !isNewer(frame, current.frame())) {
+            return;
+        }
+
+        Entry incoming = new Entry(frame.copy(), System.currentTimeMillis());
+
+        latest.merge(
+                droneUuid,
+                incoming,
+                (existing, next) -> isNewer(next.frame(), existing.frame()) ? next : existing);
+    }
+
+    public Entry get(UUID droneUuid) {
+        return latest.get(droneUuid);
+    }
+
+    /**
+     * @return The latest frame of the drone, or null if none was received within maxAge
+     */
+    public TelemetryFrame getFreshFrame(UUID droneUuid, Duration maxAge) {
+        Entry entry = latest.get(droneUuid);
+        if (entry == null || entry.receivedAt() < System.currentTimeMillis() - maxAge.toMillis()) {
+            return null;
+        }
+
+        return entry.frame();
+    }
+
+    /**
+     * @return The latest telemetry of the drone, or null if none was received within maxAge
+     */
+    public DroneTelemetryModel getFresh(UUID droneUuid, Duration maxAge) {
+        TelemetryFrame frame = getFreshFrame(droneUuid, maxAge);
+
+        return frame != null ? frame.toModel() : null;
+    }
+
+    public void remove(UUID droneUuid) {
+        latest.remove(droneUuid);
+    }
+
+    public int size() {
+        return latest.size();
+    }
+
+    private static boolean isNewer(TelemetryFrame candidate, TelemetryFrame current) {
+        if (Double.isNaN(candidate.getTimestamp()) || Double.isNaN(current.getTimestamp())) {
+            return true;
+        }
+
+        return candidate.getTimestamp() >= current.getTimestamp();
+    }
+}
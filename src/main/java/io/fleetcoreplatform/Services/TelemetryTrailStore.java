@@ -0,0 +1,64 @@
+package io.fleetcoreplatform.Services;
+
+import io.fleetcoreplatform.Configs.TelemetryConfig;
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import io.fleetcoreplatform.Models.TelemetryTrailModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last few minutes of telemetry of every drone, kept in a {@link TelemetryRingBuffer} per drone
+ * so trails and short-term checks do not need a database round trip. Memory is fixed per drone
+ * by {@code telemetry.trail.capacity}.
+ */
+@ApplicationScoped
+public class TelemetryTrailStore implements TelemetryListener {
+    @Inject TelemetryConfig telemetryConfig;
+    @Inject MeterRegistry registry;
+
+    private final ConcurrentHashMap<UUID, TelemetryRingBuffer> buffers = new ConcurrentHashMap<>();
+    private int capacity;
+
+    @PostConstruct
+    void init() {
+        capacity = telemetryConfig.trail().capacity();
+
+        registry.gauge("telemetry.trail.drones", buffers, ConcurrentHashMap::size);
+        registry.gauge(
+                "telemetry.trail.bytes",
+                buffers,
+                map -> (double) map.size() * capacity * TelemetryRingBuffer.SLOT_BYTES);
+    }
+
+    @Override
+    public void onTelemetry(UUID droneUuid, TelemetryFrame frame) {
+        if (!frame.hasPosition() && !frame.hasBattery()) {
+            return;
+        }
+
+        buffers.computeIfAbsent(droneUuid, key -> new TelemetryRingBuffer(capacity))
+                .append(frame, System.currentTimeMillis());
+    }
+
+    /**
+     * @return The frames of the drone received within the given window, oldest first, or null if
+     *     nothing was received since startup
+     */
+    public TelemetryTrailModel getTrail(UUID droneUuid, Duration window) {
+        TelemetryRingBuffer buffer = buffers.get(droneUuid);
+        if (buffer == null) {
+            return null;
+        }
+
+        return buffer.snapshot(droneUuid, System.currentTimeMillis() - window.toMillis());
+    }
+
+    public void remove(UUID droneUuid) {
+        buffers.remove(droneUuid);
+    }
+}
@@ -0,0 +1,59 @@
+-- Tables of the server features, applied on every startup by DatabaseSchema. Every statement is
+-- idempotent, the script can also be applied by hand.
+
+-- Telemetry history, one partition per UTC day. The daily partitions are created ahead of time
+-- and dropped once past the retention by TelemetryHistoryWriter.
+CREATE TABLE IF NOT EXISTS telemetry_history (
+    drone_uuid uuid NOT NULL,
+    recorded_at timestamptz NOT NULL,
+    device_timestamp real,
+    latitude double precision,
+    longitude double precision,
+    relative_altitude double precision,
+    heading double precision,
+    ground_speed double precision,
+    battery_temperature double precision,
+    battery_voltage double precision,
+    battery_remaining double precision,
+    health_present smallint NOT NULL DEFAULT 0,
+    health_flags smallint NOT NULL DEFAULT 0
+) PARTITION BY RANGE (recorded_at);
+
+CREATE INDEX IF NOT EXISTS telemetry_history_drone_time_idx
+ON telemetry_history (drone_uuid, recorded_at);
+
+-- Latest execution status of every drone of a mission, written by MissionEventIngestService when
+-- missions.events.enabled is set.
+CREATE TABLE IF NOT EXISTS mission_executions (
+    mission_uuid uuid NOT NULL,
+    drone_uuid uuid NOT NULL,
+    status text NOT NULL,
+    version_number bigint,
+    updated_at timestamptz NOT NULL,
+    PRIMARY KEY (mission_uuid, drone_uuid)
+);
+
+ALTER TABLE mission_executions ADD COLUMN IF NOT EXISTS version_number bigint;
+
+-- Index of uploaded mission bundles by the hash of their planning inputs, used by
+-- MissionBundleCache when missions.bundle-cache.enabled is set.
+CREATE TABLE IF NOT EXISTS mission_bundles (
+    input_hash text PRIMARY KEY,
+    bundle_key text NOT NULL,
+    created_at timestamptz NOT NULL DEFAULT now(),
+    last_used_at timestamptz NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS mission_bundles_last_used_idx
+ON mission_bundles (last_used_at);
+
+-- Certificates and signaling channels created ahead of registration by ProvisioningPool. Entries
+-- whose lease was not renewed belong to a stopped instance, their resources are deleted by the
+-- remaining instances.
+CREATE TABLE IF NOT EXISTS provisioning_pool (
+    resource text NOT NULL,
+    resource_id text NOT NULL,
+    owner uuid NOT NULL,
+    leased_until timestamptz NOT NULL,
+    PRIMARY KEY (resource, resource_id)
+);
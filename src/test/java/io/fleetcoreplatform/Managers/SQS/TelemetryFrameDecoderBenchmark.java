@@ -0,0 +1,79 @@
+package io.fleetcoreplatform.Managers.SQS;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.fleetcoreplatform.Models.DroneTelemetryModel;
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link TelemetryFrameDecoder} with the previous decoding of a telemetry message: Base64
+ * to a byte array, then CBORMapper into {@link DroneTelemetryModel}. Not part of the test run,
+ * start it from the IDE or with
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=io.fleetcoreplatform.Managers.SQS.TelemetryFrameDecoderBenchmark
+ * </pre>
+ *
+ * and add {@code -prof gc} to the options to compare the allocation rate as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TelemetryFrameDecoderBenchmark {
+    private final CBORMapper cborMapper = new CBORMapper();
+    private final TelemetryFrameDecoder decoder = new TelemetryFrameDecoder();
+    private final TelemetryFrame frame = new TelemetryFrame();
+    private String messageBody;
+
+    @Setup
+    public void setup() throws IOException {
+        DroneTelemetryModel telemetry =
+                new DroneTelemetryModel(
+                        UUID.randomUUID().toString(),
+                        1234.5f,
+                        new DroneTelemetryModel.Position(47.497913, 19.040236, 120.25, 270.5, 12.5),
+                        new DroneTelemetryModel.Battery(31.5, 15.2, 0.75),
+                        new DroneTelemetryModel.Health(true, true, true, true, true, true));
+
+        messageBody = Base64.getEncoder().encodeToString(cborMapper.writeValueAsBytes(telemetry));
+    }
+
+    @Benchmark
+    public void streamingDecoder(Blackhole blackhole) throws IOException {
+        blackhole.consume(decoder.decode(messageBody, frame));
+        blackhole.consume(frame.getLatitude());
+    }
+
+    @Benchmark
+    public DroneTelemetryModel objectMapper() throws IOException {
+        DroneTelemetryModel telemetry =
+                cborMapper.readValue(Base64.getDecoder().decode(messageBody), DroneTelemetryModel.class);
+        UUID.fromString(telemetry.device_name());
+        return telemetry;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TelemetryFrameDecoderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,221 @@
+package io.fleetcoreplatform.Managers.SQS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.fleetcoreplatform.Models.DroneTelemetryModel;
+import io.fleetcoreplatform.Models.TelemetryFrame;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TelemetryFrameDecoderTest {
+    private static final CBORMapper CBOR_MAPPER = new CBORMapper();
+    private static final String DRONE_UUID = "3f2b8c1e-7d4a-4e9b-a1c2-5d6e7f809a1b";
+
+    private final TelemetryFrameDecoder decoder = new TelemetryFrameDecoder();
+    private final TelemetryFrame frame = new TelemetryFrame();
+
+    @Test
+    void roundTripsEveryField() throws IOException {
+        DroneTelemetryModel telemetry =
+                new DroneTelemetryModel(
+                        DRONE_UUID,
+                        1234.5f,
+                        new DroneTelemetryModel.Position(47.5, 19.05, 120.25, 270.0, 12.5),
+                        new DroneTelemetryModel.Battery(31.5, 15.2, 0.75),
+                        new DroneTelemetryModel.Health(true, false, true, true, false, true));
+
+        assertTrue(decoder.decode(encode(telemetry), frame));
+        assertEquals(telemetry, frame.toModel());
+        assertEquals(UUID.fromString(DRONE_UUID), frame.getDeviceUuid());
+    }
+
+    @Test
+    void keepsMissingSectionsAndValuesEmpty() throws IOException {
+        DroneTelemetryModel telemetry =
+                new DroneTelemetryModel(
+                        DRONE_UUID,
+                        null,
+                        new DroneTelemetryModel.Position(47.5, 19.05, null, null, null),
+                        null,
+                        null);
+
+        assertTrue(decoder.decode(encode(telemetry), frame));
+        assertEquals(telemetry, frame.toModel());
+        assertFalse(frame.hasBattery());
+        assertTrue(Double.isNaN(frame.getHeading()));
+    }
+
+    @Test
+    void acceptsBase64WithoutPadding() throws IOException {
+        Map<String, Object> payload = Map.of("device_name", DRONE_UUID, "timestamp", 1);
+        byte[] cbor = CBOR_MAPPER.writeValueAsBytes(payload);
+
+        // Every length remainder, two of them would need padding
+        for (int extra = 0; extra < 3; extra++) {
+            byte[] padded = Arrays.copyOf(cbor, cbor.length + extra);
+            String body = Base64.getEncoder().withoutPadding().encodeToString(padded);
+
+            assertTrue(decoder.decode(body, frame));
+            assertEquals(UUID.fromString(DRONE_UUID), frame.getDeviceUuid());
+        }
+    }
+
+    @Test
+    void parsesUppercaseUuid() throws IOException {
+        Map<String, Object> payload = Map.of("device_name", DRONE_UUID.toUpperCase());
+
+        assertTrue(decoder.decode(encode(payload), frame));
+        assertEquals(UUID.fromString(DRONE_UUID), frame.getDeviceUuid());
+    }
+
+    @Test
+    void skipsUnknownFieldsAtEveryLevel() throws IOException {
+        Map<String, Object> position = new LinkedHashMap<>();
+        position.put("satellites", List.of(1, 2, 3));
+        position.put("latitude_deg", 47.5);
+        position.put("extra", Map.of("nested", Map.of("deeper", "value")));
+        position.put("longitude_deg", 19.05);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("in_air", true);
+        payload.put("device_name", DRONE_UUID);
+        payload.put("position", position);
+        payload.put("flight_mode", Map.of("name", "MISSION"));
+
+        assertTrue(decoder.decode(encode(payload), frame));
+        assertEquals(47.5, frame.getLatitude());
+        assertEquals(19.05, frame.getLongitude());
+    }
+
+    @Test
+    void readsNonNumericValuesAsMissing() throws IOException {
+        Map<String, Object> payload =
+                Map.of(
+                        "device_name", DRONE_UUID,
+                        "timestamp", "yesterday",
+                        "position", Map.of("latitude_deg", List.of(1.0), "longitude_deg", 19.05),
+                        "health", Map.of("is_gyrometer_calibration_ok", "yes"));
+
+        assertTrue(decoder.decode(encode(payload), frame));
+        assertTrue(Double.isNaN(frame.getTimestamp()));
+        assertTrue(Double.isNaN(frame.getLatitude()));
+        assertEquals(19.05, frame.getLongitude());
+        assertNull(frame.toModel().health().is_gyrometer_calibration_ok());
+    }
+
+    @Test
+    void reportsMissingOrMalformedDevice() throws IOException {
+        List<Object> devices =
+                Arrays.asList(
+                        null,
+                        42,
+                        "",
+                        "not-a-uuid",
+                        DRONE_UUID.substring(1),
+                        DRONE_UUID + "0",
+                        DRONE_UUID.replace('-', '_'),
+                        DRONE_UUID.replace('a', 'g'),
+                        "3f2b8c1e7d4a-4e9b-a1c2-5d6e7f809a1b0");
+
+        for (Object device : devices) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            if (device != null) {
+                payload.put("device_name", device);
+            }
+            payload.put("timestamp", 1.5);
+
+            assertFalse(decoder.decode(encode(payload), frame), "Accepted device " + device);
+            assertEquals(1.5, frame.getTimestamp());
+        }
+    }
+
+    @Test
+    void keepsDeviceNamesThatAreNotAUuid() throws IOException {
+        assertFalse(decoder.decode(encode(Map.of("device_name", "drone-7")), frame));
+        assertEquals("drone-7", frame.getDeviceName());
+
+        assertTrue(decoder.decode(encode(Map.of("device_name", DRONE_UUID)), frame));
+        assertNull(frame.getDeviceName());
+    }
+
+    @Test
+    void resetsTheFrameBetweenMessages() throws IOException {
+        decoder.decode(
+                encode(
+                        new DroneTelemetryModel(
+                                DRONE_UUID,
+                                1f,
+                                new DroneTelemetryModel.Position(47.5, 19.05, 1.0, 2.0, 3.0),
+                                new DroneTelemetryModel.Battery(1.0, 2.0, 3.0),
+                                null)),
+                frame);
+
+        assertFalse(decoder.decode(encode(Map.of("timestamp", 2)), frame));
+        assertFalse(frame.hasPosition());
+        assertFalse(frame.hasBattery());
+        assertTrue(Double.isNaN(frame.getLatitude()));
+        assertEquals(2, frame.getTimestamp());
+    }
+
+    @Test
+    void growsTheScratchBufferForLargeMessages() throws IOException {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("padding", "x".repeat(10_000));
+        payload.put("device_name", DRONE_UUID);
+
+        assertTrue(decoder.decode(encode(payload), frame));
+        // A small message after a large one still decodes from the start of the buffer
+        assertTrue(decoder.decode(encode(Map.of("device_name", DRONE_UUID)), frame));
+    }
+
+    @Test
+    void rejectsInvalidBase64() {
+        String body = Base64.getEncoder().encodeToString(new byte[] {(byte) 0xa1, 0x01, 0x02});
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("ab$d", frame));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("ab d", frame));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("ab=d", frame));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("a-_b", frame));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("abé", frame));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(body + "\n", frame));
+    }
+
+    @Test
+    void rejectsPayloadsThatAreNotAMap() throws IOException {
+        String array = Base64.getEncoder().encodeToString(CBOR_MAPPER.writeValueAsBytes(List.of(1, 2)));
+        String number = Base64.getEncoder().encodeToString(CBOR_MAPPER.writeValueAsBytes(42));
+
+        assertThrows(IOException.class, () -> decoder.decode(array, frame));
+        assertThrows(IOException.class, () -> decoder.decode(number, frame));
+        assertThrows(IOException.class, () -> decoder.decode("", frame));
+    }
+
+    @Test
+    void rejectsTruncatedPayloads() throws IOException {
+        byte[] cbor =
+                CBOR_MAPPER.writeValueAsBytes(
+                        Map.of(
+                                "device_name", DRONE_UUID,
+                                "position", Map.of("latitude_deg", 47.5, "longitude_deg", 19.05)));
+
+        for (int length : new int[] {1, cbor.length / 2, cbor.length - 1}) {
+            String body = Base64.getEncoder().encodeToString(Arrays.copyOf(cbor, length));
+            assertThrows(IOException.class, () -> decoder.decode(body, frame), "Accepted " + length + " bytes");
+        }
+    }
+
+    private static String encode(Object telemetry) throws IOException {
+        return Base64.getEncoder().encodeToString(CBOR_MAPPER.writeValueAsBytes(telemetry));
+    }
+}